@@ -0,0 +1,35 @@
+package com.uvp.benchmark;
+
+import com.uvp.utility.CertificateGenerator;
+import com.uvp.utility.QrCodeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CertificateBenchmark {
+
+    @Param({"RASTER", "VECTOR"})
+    private CertificateGenerator.RenderMode renderMode;
+
+    private String qrBase64;
+
+    @Setup
+    public void setUp() throws Exception {
+        CertificateGenerator.setRenderMode(renderMode);
+        qrBase64 = QrCodeGenerator.toBase64Png("http://localhost:8080/api/volunteer/certificates/download/1/1");
+    }
+
+    @Benchmark
+    public void createCertificate() throws Exception {
+        CertificateGenerator.createCertificate("Aditya Kamate", "Beach Cleanup Drive", "Earth5R",
+                LocalDate.of(2025, 1, 1), qrBase64, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,108 @@
+package com.uvp.benchmark;
+
+import com.uvp.UnifiedVolunteeringPortal;
+import com.uvp.entity.Certificate;
+import com.uvp.entity.OrganizationHome;
+import com.uvp.entity.Task;
+import com.uvp.entity.User;
+import com.uvp.repository.CertificateRepository;
+import com.uvp.repository.OrganizationHomeRepository;
+import com.uvp.repository.TaskRepository;
+import com.uvp.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 100k Certificate rows persisted through JPA against the configured database, 1,000 per transaction.
+// Certificates are unique per (task, user): each transaction covers its own task for 1,000 volunteers.
+// Reported per row: rows/sec = 1,000,000 / score (us/op). Needs the database from application.properties:
+// mvn -P jmh test-compile exec:exec -Djmh.args="InsertBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class InsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private CertificateRepository certificateRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    private OrganizationHome org;
+    private List<User> users;
+    private List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(UnifiedVolunteeringPortal.class)
+                .run("--server.port=0", "--spring.jpa.show-sql=false");
+        certificateRepository = context.getBean(CertificateRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        String suffix = UUID.randomUUID().toString();
+        org = context.getBean(OrganizationHomeRepository.class).save(OrganizationHome.builder()
+                .name("Benchmark org").email("org-" + suffix + "@bench.test").password("x").type("NGO").build());
+        List<User> newUsers = new ArrayList<>(ROWS_PER_TRANSACTION);
+        for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+            newUsers.add(User.builder()
+                    .name("Benchmark volunteer").email("user-" + i + "-" + suffix + "@bench.test").password("x")
+                    .role(User.Role.VOLUNTEER).location("Not specified").phone("Not provided").build());
+        }
+        users = context.getBean(UserRepository.class).saveAll(newUsers);
+        List<Task> newTasks = new ArrayList<>(ROWS / ROWS_PER_TRANSACTION);
+        for (int i = 0; i < ROWS / ROWS_PER_TRANSACTION; i++) {
+            newTasks.add(Task.builder().organizationHome(org).title("Benchmark task " + i).capacity(1).build());
+        }
+        tasks = context.getBean(TaskRepository.class).saveAll(newTasks);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCertificates() {
+        jdbcTemplate.update("DELETE c FROM Certificate c JOIN Task t ON t.TaskId = c.TaskId WHERE t.OrgId = ?",
+                org.getOrgId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM Task WHERE OrgId = ?", org.getOrgId());
+        jdbcTemplate.batchUpdate("DELETE FROM user WHERE userId = ?",
+                users.stream().map(user -> new Object[]{user.getUserId()}).toList());
+        jdbcTemplate.update("DELETE FROM OrganizationSummary WHERE OrgId = ?", org.getOrgId());
+        jdbcTemplate.update("DELETE FROM OrganizationHome WHERE OrgId = ?", org.getOrgId());
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertCertificates() {
+        LocalDate issueDate = LocalDate.now();
+        for (int done = 0; done < ROWS; done += ROWS_PER_TRANSACTION) {
+            Task task = tasks.get(done / ROWS_PER_TRANSACTION);
+            List<Certificate> chunk = new ArrayList<>(ROWS_PER_TRANSACTION);
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                chunk.add(Certificate.builder()
+                        .user(users.get(i))
+                        .task(task)
+                        .issueDate(issueDate)
+                        .qrCode("http://localhost:8080/api/certificates/verify/" + (done + i))
+                        .status(Certificate.CertificateStatus.ISSUED)
+                        .build());
+            }
+            transactionTemplate.executeWithoutResult(status -> certificateRepository.saveAll(chunk));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.uvp.benchmark;
+
+import com.uvp.utility.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = JwtUtil.generateToken(42);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return JwtUtil.generateToken(42);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return JwtUtil.isTokenValid(token);
+    }
+
+    @Benchmark
+    public Integer extractUserId() {
+        return JwtUtil.extractUserId(token);
+    }
+}
@@ -0,0 +1,35 @@
+package com.uvp.benchmark;
+
+import com.uvp.config.SecurityConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new SecurityConfig().passwordEncoder();
+        hash = passwordEncoder.encode("volunteer@123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("volunteer@123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("volunteer@123", hash);
+    }
+}
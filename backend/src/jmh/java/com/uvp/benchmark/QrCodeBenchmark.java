@@ -0,0 +1,22 @@
+package com.uvp.benchmark;
+
+import com.uvp.utility.QrCodeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QrCodeBenchmark {
+
+    private final String payload = "http://192.168.1.10:8080/api/volunteer/certificates/download/42/17";
+
+    @Benchmark
+    public byte[] generateQrCode() throws Exception {
+        return QrCodeGenerator.toPng(payload);
+    }
+}
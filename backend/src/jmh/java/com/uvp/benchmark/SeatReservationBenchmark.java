@@ -0,0 +1,109 @@
+package com.uvp.benchmark;
+
+import com.uvp.UnifiedVolunteeringPortal;
+import com.uvp.entity.OrganizationHome;
+import com.uvp.entity.Task;
+import com.uvp.entity.User;
+import com.uvp.repository.OrganizationHomeRepository;
+import com.uvp.repository.TaskRepository;
+import com.uvp.repository.UserRepository;
+import com.uvp.service.ApplicationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Sign-up burst: 200 volunteers apply to one 25-seat task at the same instant (the load SeatReservationLoadTests
+// checks for correctness). Reported per apply, so applies/sec = 1,000,000 / score (us/op).
+// Needs the database from application.properties: mvn -P jmh test-compile exec:exec -Djmh.args="SeatReservationBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SeatReservationBenchmark {
+
+    private static final int APPLIERS = 200;
+    private static final int CAPACITY = 25;
+
+    private ConfigurableApplicationContext context;
+    private ApplicationService applicationService;
+    private JdbcTemplate jdbcTemplate;
+    private ExecutorService pool;
+
+    private OrganizationHome org;
+    private Task task;
+    private List<User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(UnifiedVolunteeringPortal.class)
+                .run("--server.port=0", "--spring.jpa.show-sql=false");
+        applicationService = context.getBean(ApplicationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        pool = Executors.newFixedThreadPool(APPLIERS);
+
+        String suffix = UUID.randomUUID().toString();
+        org = context.getBean(OrganizationHomeRepository.class).save(OrganizationHome.builder()
+                .name("Benchmark org").email("org-" + suffix + "@bench.test").password("x").type("NGO").build());
+        task = context.getBean(TaskRepository.class).save(Task.builder()
+                .organizationHome(org).title("Benchmark drive").capacity(CAPACITY).build());
+        List<User> newUsers = new ArrayList<>(APPLIERS);
+        for (int i = 0; i < APPLIERS; i++) {
+            newUsers.add(User.builder()
+                    .name("Benchmark volunteer").email("user-" + i + "-" + suffix + "@bench.test").password("x")
+                    .role(User.Role.VOLUNTEER).location("Not specified").phone("Not provided").build());
+        }
+        users = context.getBean(UserRepository.class).saveAll(newUsers);
+    }
+
+    @TearDown(Level.Iteration)
+    public void freeSeats() {
+        jdbcTemplate.update("DELETE FROM Application WHERE TaskId = ?", task.getTaskId());
+        jdbcTemplate.update("UPDATE Task SET ReservedSeats = 0 WHERE TaskId = ?", task.getTaskId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+        jdbcTemplate.update("DELETE FROM Task WHERE TaskId = ?", task.getTaskId());
+        jdbcTemplate.batchUpdate("DELETE FROM user WHERE userId = ?",
+                users.stream().map(user -> new Object[]{user.getUserId()}).toList());
+        jdbcTemplate.update("DELETE FROM OrganizationSummary WHERE OrgId = ?", org.getOrgId());
+        jdbcTemplate.update("DELETE FROM OrganizationHome WHERE OrgId = ?", org.getOrgId());
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(APPLIERS)
+    public void burst() throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(APPLIERS);
+        for (User user : users) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    applicationService.applyForTask(user.getUserId(), task.getTaskId());
+                } catch (ResponseStatusException e) {
+                    // "Task is full" for all but CAPACITY of them
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await();
+    }
+}
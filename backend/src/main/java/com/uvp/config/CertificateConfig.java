@@ -0,0 +1,35 @@
+package com.uvp.config;
+
+import com.uvp.service.CertificateService;
+import com.uvp.utility.CertificateGenerator;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class CertificateConfig {
+
+    // VECTOR re-runs the SVG filters for every PDF, RASTER embeds layers rendered once at startup
+    @Value("${certificate.render-mode:RASTER}")
+    private CertificateGenerator.RenderMode renderMode;
+
+    @PostConstruct
+    public void applyRenderMode() {
+        CertificateGenerator.setRenderMode(renderMode);
+    }
+
+    // V8 rewrites old QR codes to the verification URL this node puts in new certificates
+    @Bean
+    public FlywayConfigurationCustomizer certificateUrlPlaceholder() {
+        return configuration -> {
+            Map<String, String> placeholders = new HashMap<>(configuration.getPlaceholders());
+            placeholders.put("certificateUrlPrefix", CertificateService.verificationUrlPrefix());
+            configuration.placeholders(placeholders);
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.uvp.config;
+
+import com.uvp.utility.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Verifies the bearer token once per request and puts the user / org id in the SecurityContext
+// as the principal; AuthUtil reads it from there instead of parsing the token again.
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final int CACHE_SIZE = 10_000;
+
+    private record VerifiedToken(Integer userId, long expiresAt) {
+    }
+
+    // LRU of already verified tokens keyed by their SHA-256, each entry dropped at the token's exp
+    private final Map<String, VerifiedToken> verified = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            Integer userId = authenticate(authHeader.substring(7)); // Remove "Bearer "
+            if (userId != null) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Integer authenticate(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = verified.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached.userId();
+            }
+            verified.remove(key);
+            return null;
+        }
+
+        Claims claims = JwtUtil.parseVerified(token);
+        if (claims == null || claims.getExpiration() == null) {
+            return null;
+        }
+        Integer userId = Integer.parseInt(claims.getSubject());
+        verified.put(key, new VerifiedToken(userId, claims.getExpiration().getTime()));
+        return userId;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.uvp.config;
+
+import com.uvp.utility.QueryCounter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered as hibernate.session_factory.statement_inspector: sees every statement Hibernate prepares
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment();
+        return sql;
+    }
+}
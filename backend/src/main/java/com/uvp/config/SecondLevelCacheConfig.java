@@ -0,0 +1,85 @@
+package com.uvp.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.UUID;
+
+// Hibernate second-level cache for read-mostly entities, on bounded Caffeine caches (JCache).
+// Entities are READ_WRITE: saves through Hibernate update the cache on commit, bulk UPDATEs evict the region,
+// and cached queries are dropped when one of their tables changes (update timestamps region).
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String TASK_REGION = "task";
+    public static final String ORGANIZATION_REGION = "organization";
+    public static final String ORGANIZATIONS_BY_TYPE_REGION = "organizationsByType";
+
+    // Hibernate's own query regions: default query results, and the last-change time of every table
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    public static final List<String> REGIONS = List.of(TASK_REGION, ORGANIZATION_REGION,
+            ORGANIZATIONS_BY_TYPE_REGION, QUERY_RESULTS_REGION, UPDATE_TIMESTAMPS_REGION);
+
+    @Value("${cache.entities.max-size:10000}")
+    private long entityMaxSize;
+
+    @Value("${cache.entities.ttl:PT10M}")
+    private Duration entityTtl;
+
+    @Value("${cache.queries.max-size:1000}")
+    private long queryMaxSize;
+
+    @Value("${cache.queries.ttl:PT5M}")
+    private Duration queryTtl;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager());
+            // every region must be configured (and so bounded) here
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // One manager per session factory (Hibernate closes it on shutdown), so test contexts don't share regions
+    private CacheManager cacheManager() {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("uvp:second-level-cache:" + UUID.randomUUID()),
+                        getClass().getClassLoader(), new Properties());
+        manager.createCache(TASK_REGION, bounded(entityMaxSize, entityTtl));
+        manager.createCache(ORGANIZATION_REGION, bounded(entityMaxSize, entityTtl));
+        manager.createCache(ORGANIZATIONS_BY_TYPE_REGION, bounded(queryMaxSize, queryTtl));
+        manager.createCache(QUERY_RESULTS_REGION, bounded(queryMaxSize, queryTtl));
+        // one small entry per table; must not expire before the query results it validates
+        manager.createCache(UPDATE_TIMESTAMPS_REGION, bounded(10_000, null));
+        return manager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,18 @@
+package com.uvp.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Id taken from the named IdSequence row, blockSize ids per round trip
+@IdGeneratorType(SequenceTableIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SequenceTableId {
+    String value();
+
+    int blockSize() default 50;
+}
@@ -0,0 +1,50 @@
+package com.uvp.config;
+
+import com.uvp.service.IdBlockAllocator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+import org.hibernate.service.ServiceRegistry;
+
+import java.lang.reflect.Member;
+
+// Hands out ids from a block reserved by IdBlockAllocator and reserves the next block when it runs out.
+// Unlike IDENTITY the id is known at persist(), so the INSERT can wait for flush and go out in a JDBC batch.
+// Ids of a restarted node skip the rest of its last block; gaps are fine, only uniqueness matters.
+public class SequenceTableIdGenerator implements IdentifierGenerator {
+
+    private final String sequence;
+    private final int blockSize;
+    private final ServiceRegistry serviceRegistry;
+
+    private IdBlockAllocator allocator;
+    private long next = 1;
+    private long last = 0;
+
+    public SequenceTableIdGenerator(SequenceTableId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.sequence = config.value();
+        this.blockSize = config.blockSize();
+        this.serviceRegistry = context.getServiceRegistry();
+    }
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object object) {
+        if (next > last) {
+            IdBlockAllocator.Block block = allocator().allocate(sequence, blockSize);
+            next = block.first();
+            last = block.last();
+        }
+        return Math.toIntExact(next++);
+    }
+
+    // The Spring bean, looked up on first use: generators are built while the context is still starting
+    private IdBlockAllocator allocator() {
+        if (allocator == null) {
+            allocator = serviceRegistry.requireService(ManagedBeanRegistry.class)
+                    .getBean(IdBlockAllocator.class)
+                    .getBeanInstance();
+        }
+        return allocator;
+    }
+}
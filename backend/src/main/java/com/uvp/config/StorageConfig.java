@@ -0,0 +1,86 @@
+package com.uvp.config;
+
+import com.uvp.storage.CachingObjectStorage;
+import com.uvp.storage.DiskCache;
+import com.uvp.storage.LocalObjectStorage;
+import com.uvp.storage.ObjectStorage;
+import com.uvp.storage.S3ObjectStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+
+@Configuration
+public class StorageConfig {
+
+    // local = files under storage.local.root on this node, s3 = a bucket shared by all nodes
+    @Value("${storage.type:local}")
+    private String type;
+
+    @Value("${storage.local.root:uploads}")
+    private String localRoot;
+
+    @Value("${storage.s3.bucket:uvp}")
+    private String bucket;
+
+    @Value("${storage.s3.region:us-east-1}")
+    private String region;
+
+    // empty for AWS, e.g. http://localhost:9000 for MinIO
+    @Value("${storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${storage.cache.dir:storage-cache}")
+    private String cacheDir;
+
+    @Value("${storage.cache.max-size:1GB}")
+    private DataSize cacheMaxSize;
+
+    @Bean
+    public ObjectStorage objectStorage() throws IOException {
+        if (!"s3".equalsIgnoreCase(type)) {
+            return new LocalObjectStorage(Paths.get(localRoot));
+        }
+
+        S3Configuration s3Config = S3Configuration.builder()
+                .pathStyleAccessEnabled(!endpoint.isBlank()) // MinIO and most self-hosted servers
+                .build();
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+
+        var client = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Config);
+        var presigner = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Config);
+        if (!endpoint.isBlank()) {
+            client.endpointOverride(URI.create(endpoint));
+            presigner.endpointOverride(URI.create(endpoint));
+        }
+
+        S3ObjectStorage s3 = new S3ObjectStorage(client.build(), presigner.build(), bucket);
+        return new CachingObjectStorage(s3, new DiskCache(Paths.get(cacheDir), cacheMaxSize.toBytes()));
+    }
+}
@@ -3,12 +3,15 @@ package com.uvp.controller;
 import com.uvp.entity.*;
 import com.uvp.projection.OrganizationSubmissionProjection;
 import com.uvp.projection.SingleSubmissionProjection;
+import com.uvp.repository.SubmissionInboxRepository;
 import com.uvp.service.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.*;
 
 @RestController
@@ -22,6 +25,8 @@ public class AdminController {
     private final SubmissionService submissionService;
     private final CertificateService certificateService;
     private final AdminService adminService;
+    private final CacheStatsService cacheStatsService;
+    private final QueryStatsService queryStatsService;
 
 
 
@@ -66,12 +71,38 @@ public class AdminController {
         return adminService.getDashboardStats();
     }
 
+    // Second-level cache hit/miss counts per region
+    @GetMapping("/cache/stats")
+    public Map<String, Map<String, Object>> getCacheStats() {
+        return cacheStatsService.getCacheStats();
+    }
+
+    // SQL statements per request for each endpoint
+    @GetMapping("/query/stats")
+    public Map<String, Map<String, Object>> getQueryStats() {
+        return queryStatsService.getQueryStats();
+    }
+
     // 7. All Certificates
     @GetMapping("/certificates")
     public ResponseEntity<?> getAllCertificates() {
         return ResponseEntity.ok(certificateService.getAllCertificates());
     }
 
+    @GetMapping("/submissions/inbox")
+    public ResponseEntity<?> getSubmissionInbox(@RequestParam(required = false) Integer orgId,
+                                                @RequestParam(required = false) String stage,
+                                                @RequestParam(required = false) Integer taskId,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(defaultValue = "asc") String sort,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(submissionService.getInbox(SubmissionInboxRepository.Audience.ADMIN, orgId, stage, taskId,
+                from, to, sort, cursor, size, includeTotal));
+    }
+
     @GetMapping("/submission/{id}")
     public ResponseEntity<SingleSubmissionProjection> getSubmission(@PathVariable Integer id) {
         return ResponseEntity.ok(submissionService.getAdminSubmissionById(id));
@@ -7,8 +7,11 @@ import com.uvp.projection.OrganizationSubmissionProjection;
 import com.uvp.projection.PendingApplicationProjection;
 import com.uvp.projection.SingleSubmissionProjection;
 import com.uvp.projection.SubmissionProjection;
+import com.uvp.repository.SubmissionInboxRepository;
 import com.uvp.service.ApplicationService;
+import com.uvp.service.CertificateBatchService;
 import com.uvp.service.OrganizationService;
+import com.uvp.service.OrganizationSummaryService;
 import com.uvp.service.SubmissionService;
 import com.uvp.service.TaskService;
 import com.uvp.utility.AuthUtil;
@@ -16,11 +19,13 @@ import com.uvp.utility.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -34,6 +39,8 @@ public class OrganizationController {
     @Autowired
     private final ApplicationService applicationService;
     private final SubmissionService submissionService;
+    private final CertificateBatchService certificateBatchService;
+    private final OrganizationSummaryService organizationSummaryService;
 
 
     @PostMapping("/get")
@@ -42,12 +49,28 @@ public class OrganizationController {
         return ResponseEntity.ok(organizationService.getOrganizations(orgId));
     }
 
+    // Badges, newest pending applications and open-task fill for the dashboard in one call
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(@RequestHeader("Authorization") String authHeader) {
+        Integer orgId = AuthUtil.getUserIdByAuthHeader(authHeader);
+        return ResponseEntity.ok(organizationSummaryService.getDashboard(orgId));
+    }
+
     @PostMapping("/tasks/{status}")
     public ResponseEntity<?> getTasksByStatusOrgId(@RequestHeader("Authorization") String authHeader,@PathVariable String status ){
         Integer orgId= AuthUtil.getUserIdByAuthHeader(authHeader);
         return ResponseEntity.ok(taskService.getTasksByStatusUserId(orgId,status));
     }
 
+    @GetMapping("/tasks/{status}/feed")
+    public ResponseEntity<?> getTaskFeedByStatusOrgId(@RequestHeader("Authorization") String authHeader,
+                                                      @PathVariable String status,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        Integer orgId = AuthUtil.getUserIdByAuthHeader(authHeader);
+        return ResponseEntity.ok(taskService.getOrgTaskFeed(orgId, status, cursor, size));
+    }
+
     @PostMapping("/task/create")
     public ResponseEntity<Task> createTask(
             @RequestPart("task") Task task,
@@ -91,6 +114,14 @@ public class OrganizationController {
         return ResponseEntity.ok(applicationService.updateApplicationStatus(applicationId,status));
     }
 
+    // Review many applications at once: {"applicationIds": [..], "status": "APPROVED"}; one outcome per id
+    @PutMapping("/applications/review")
+    public ResponseEntity<?> reviewApplications(@RequestHeader("Authorization") String authHeader,
+                                                @RequestBody ApplicationService.ReviewRequest request) {
+        Integer orgId = AuthUtil.getUserIdByAuthHeader(authHeader);
+        return ResponseEntity.ok(applicationService.reviewApplications(orgId, request));
+    }
+
     @GetMapping("/submission/approved")
     public ResponseEntity<?> getApprovedSubmissions(@RequestHeader("Authorization") String authHeader) {
         Integer orgId=AuthUtil.getUserIdByAuthHeader(authHeader);
@@ -103,6 +134,22 @@ public class OrganizationController {
         return ResponseEntity.ok(submissionService.getInProcessSubmissions(orgId));
     }
 
+    // Paged, filterable alternative to the two lists above; stage is ORG_PENDING, ORG_APPROVED, ...
+    @GetMapping("/submissions/inbox")
+    public ResponseEntity<?> getSubmissionInbox(@RequestHeader("Authorization") String authHeader,
+                                                @RequestParam(required = false) String stage,
+                                                @RequestParam(required = false) Integer taskId,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(defaultValue = "desc") String sort,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Integer orgId = AuthUtil.getUserIdByAuthHeader(authHeader);
+        return ResponseEntity.ok(submissionService.getInbox(SubmissionInboxRepository.Audience.ORG, orgId, stage, taskId,
+                from, to, sort, cursor, size, includeTotal));
+    }
+
     @GetMapping("/submission/{id}")
     public ResponseEntity<SingleSubmissionProjection> getSubmission(@PathVariable Integer id) {
         return ResponseEntity.ok(submissionService.getSubmissionById(id));
@@ -113,4 +160,20 @@ public class OrganizationController {
         return ResponseEntity.ok(submissionService.updateOrgStatus(submissionId));
     }
 
+    // Issues certificates for every fully verified volunteer of a task; poll the returned batch for progress
+    @PostMapping("/task/{taskId}/certificates")
+    public ResponseEntity<?> issueTaskCertificates(@RequestHeader("Authorization") String authHeader, @PathVariable Integer taskId) {
+        Integer orgId = AuthUtil.getUserIdByAuthHeader(authHeader);
+        return ResponseEntity.accepted().body(certificateBatchService.startBatch(orgId, taskId));
+    }
+
+    // Batch progress is kept in the memory of the node that started the batch and is lost when it restarts:
+    // poll that node (sticky sessions); any other node answers 404. The certificates themselves are in the
+    // database either way, and starting the task's batch again only issues the ones still missing.
+    @GetMapping("/certificates/batch/{batchId}")
+    public ResponseEntity<?> getCertificateBatch(@RequestHeader("Authorization") String authHeader, @PathVariable String batchId) {
+        Integer orgId = AuthUtil.getUserIdByAuthHeader(authHeader);
+        return ResponseEntity.ok(certificateBatchService.getBatch(orgId, batchId));
+    }
+
 }
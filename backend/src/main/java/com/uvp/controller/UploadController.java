@@ -0,0 +1,89 @@
+package com.uvp.controller;
+
+import com.uvp.storage.ObjectStorage;
+import com.uvp.storage.OpenFile;
+import com.uvp.utility.FileSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+public class UploadController {
+
+    private final ObjectStorage storage;
+
+    // Hand out a short-lived direct URL to the bucket instead of streaming through this node
+    @Value("${storage.presigned-downloads:false}")
+    private boolean presignedDownloads;
+
+    @Value("${storage.presigned-ttl:PT15M}")
+    private Duration presignedTtl;
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    // Content-addressed blobs never change under their name; files from before the blob store are revalidated
+    private static final String BLOBS = "blobs/";
+    private static final String BLOBS_INCOMING = BLOBS + "incoming/";
+    private static final List<String> LEGACY_FOLDERS = List.of("submissions/", "tasks/");
+
+    // This maps /uploads/** to the same key in ObjectStorage (the uploads folder for local storage).
+    // Only uploads are public: the certificate cache (certificate.cache.dir) and staged uploads answer 404,
+    // certificates are downloaded through the authorized certificate endpoints.
+    @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serveUpload(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String relative = urlPathHelper.getPathWithinApplication(request).substring("/uploads/".length());
+        Path key = Paths.get(relative).normalize();
+        if (relative.isEmpty() || key.isAbsolute() || key.startsWith("..")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String objectKey = key.toString().replace('\\', '/');
+        String cacheControl = cacheControlFor(objectKey);
+        if (cacheControl == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (presignedDownloads) {
+            Optional<String> url = storage.presignedUrl(objectKey, presignedTtl);
+            if (url.isPresent()) {
+                response.sendRedirect(url.get());
+                return;
+            }
+        }
+
+        Optional<OpenFile> file = storage.openLocal(objectKey);
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        try (OpenFile open = file.get()) {
+            FileSender.send(request, response, open, cacheControl, null);
+        }
+    }
+
+    private static String cacheControlFor(String objectKey) {
+        if (objectKey.startsWith(BLOBS)) {
+            return objectKey.startsWith(BLOBS_INCOMING) ? null : FileSender.CACHE_IMMUTABLE;
+        }
+        for (String folder : LEGACY_FOLDERS) {
+            if (objectKey.startsWith(folder)) {
+                return FileSender.CACHE_REVALIDATE;
+            }
+        }
+        return null;
+    }
+}
@@ -3,26 +3,33 @@ package com.uvp.controller;
 import com.uvp.entity.Application;
 import com.uvp.entity.Certificate;
 import com.uvp.entity.Submission;
+import com.uvp.entity.Task;
 import com.uvp.entity.User;
 import com.uvp.projection.CertificateProjection;
 import com.uvp.service.*;
+import com.uvp.storage.OpenFile;
 import com.uvp.utility.AuthUtil;
-import com.uvp.utility.JwtUtil;
-import org.springframework.core.io.Resource;
-
+import com.uvp.utility.FileSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/volunteer")
@@ -34,20 +41,17 @@ public class VolunteerController {
     private final CertificateService certificateService;
     private final TaskService taskService;
     private final VolunteerService volunteerService;
+    private final TaskSearchService taskSearchService;
 
 
     @PostMapping("/profile")
     public ResponseEntity<?> profile(@RequestHeader("Authorization") String authHeader){
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing token");
-        }
-
-        String token = authHeader.substring(7); // Remove "Bearer "
-        if (!JwtUtil.isTokenValid(token)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
+        int userId = AuthUtil.getUserIdByAuthHeader(authHeader);
+        if (userId == 0) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing token or Token Expired");
         }
 
-        return ResponseEntity.ok(volunteerService.getProfile(token));
+        return ResponseEntity.ok(volunteerService.getProfile(userId));
     }
 
     @PostMapping("/profile/edit")
@@ -66,6 +70,39 @@ public class VolunteerController {
         return ResponseEntity.ok(taskService.getTasksByStatus(status));
     }
 
+    // Infinite scroll: pass back nextCursor from the previous page, omit it for the first page
+    @GetMapping("/tasks/{status}/feed")
+    public ResponseEntity<?> taskFeed(@PathVariable String status,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(taskService.getTaskFeed(status, cursor, size));
+    }
+
+    // Ranked full-text search; status is a comma-separated list (default OPEN), from/to overlap the task dates
+    @GetMapping("/tasks/search")
+    public ResponseEntity<?> searchTasks(@RequestParam(defaultValue = "") String q,
+                                         @RequestParam(defaultValue = "OPEN") List<String> status,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size) {
+        Set<Task.TaskStatus> statuses = status.stream()
+                .map(VolunteerController::taskStatus)
+                .collect(Collectors.toSet());
+        return ResponseEntity.ok(taskSearchService.search(q, statuses, from, to, page, size));
+    }
+
+    // An unknown status is the caller's mistake (400), not a server error
+    private static Task.TaskStatus taskStatus(String status) {
+        for (Task.TaskStatus candidate : Task.TaskStatus.values()) {
+            if (candidate.name().equalsIgnoreCase(status.trim())) {
+                return candidate;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "status must be one of " + Arrays.toString(Task.TaskStatus.values()));
+    }
+
     @PostMapping("/task/{taskId}")
     public ResponseEntity<?> task(@PathVariable Integer taskId){
         return ResponseEntity.ok(taskService.getTask(taskId));
@@ -74,21 +111,17 @@ public class VolunteerController {
     // Apply for a task
     @PostMapping("/{taskId}/apply")
     public ResponseEntity<?> apply(@PathVariable Integer taskId,@RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing token");
-        }
-
-        String token = authHeader.substring(7); // Remove "Bearer "
-        if (!JwtUtil.isTokenValid(token)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
+        int userId = AuthUtil.getUserIdByAuthHeader(authHeader);
+        if (userId == 0) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing token or Token Expired");
         }
 
-        int userId = JwtUtil.extractUserId(token);
-
-        if(applicationService.applyForTask(userId, taskId)){
-        return ResponseEntity.ok("Applied Successfully");
-        }else{
-            return ResponseEntity.status(409).body("Already Applied");
+        try {
+            applicationService.applyForTask(userId, taskId);
+            return ResponseEntity.ok("Applied Successfully");
+        } catch (ResponseStatusException e) {
+            // 409 already applied / task full, 404 unknown task or user
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
         }
     }
 
@@ -110,6 +143,8 @@ public class VolunteerController {
         try {
             Submission submission = submissionService.submitProof(applicationId, file);
             return ResponseEntity.ok(submission);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error uploading submission: " + e.getMessage());
         }
@@ -143,19 +178,33 @@ public class VolunteerController {
         return ResponseEntity.ok(certificateService.getCertificatesByUser(userId));
     }
 
+    // The QR encodes a URL with the server address in it, so clients revalidate against an ETag of the payload
+    @GetMapping("/certificates/{certificateId}/qr")
+    public ResponseEntity<byte[]> getCertificateQr(@PathVariable Integer certificateId, WebRequest request) throws Exception {
+        String payload = certificateService.getQrPayload(certificateId);
+        String etag = "\"" + DigestUtils.md5DigestAsHex(payload.getBytes(StandardCharsets.UTF_8)) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null; // 304 already written
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(certificateService.getQrCodePng(payload));
+    }
+
     @GetMapping("/certificates/download/{userId}/{taskId}")
-    public ResponseEntity<Resource> downloadCertificate(
+    public void downloadCertificate(
             @PathVariable Integer userId,
-            @PathVariable Integer taskId) throws IOException {
-
-        Resource resource = certificateService.downloadCertificate(userId, taskId);
+            @PathVariable Integer taskId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws Exception {
 
         String fileName = "certificate_" + userId + "_" + taskId + ".pdf";
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_PDF)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=" + fileName)
-                .body(resource);
+        try (OpenFile file = certificateService.openCertificateFile(userId, taskId)) {
+            FileSender.send(request, response, file, FileSender.CACHE_REVALIDATE, "inline; filename=" + fileName);
+        }
     }
 
 }
@@ -1,12 +1,18 @@
 package com.uvp.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.uvp.config.SequenceTableId;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Application")
+@Table(name = "Application", uniqueConstraints = {
+        @UniqueConstraint(name = "UX_Application_Task_User", columnNames = {"TaskId", "UserId"})
+}, indexes = {
+        @Index(name = "IX_Application_User_Status", columnList = "UserId, Status"),
+        @Index(name = "IX_Application_Task_Status_AppliedAt", columnList = "TaskId, Status, AppliedAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,7 +21,7 @@ import java.time.LocalDateTime;
 public class Application {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceTableId("Application")
     @Column(name = "ApplicationId")
     private Integer applicationId;
 
@@ -1,12 +1,17 @@
 package com.uvp.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.uvp.config.SequenceTableId;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "Certificate")
+@Table(name = "Certificate", uniqueConstraints = {
+        @UniqueConstraint(name = "UX_Certificate_Task_User", columnNames = {"TaskId", "UserId"})
+}, indexes = {
+        @Index(name = "IX_Certificate_User_Block", columnList = "UserId, Block")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,7 +20,7 @@ import java.time.LocalDate;
 public class Certificate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceTableId("Certificate")
     @Column(name = "CertificateId")
     private Integer certificateId;
 
@@ -30,9 +35,24 @@ public class Certificate {
     @Column(name = "IssueDate")
     private LocalDate issueDate;
 
-    @Column(name = "QRCode", columnDefinition = "LONGTEXT")
-    private String qrCode; // URL or encoded string
+    @Column(name = "QRCode")
+    private String qrCode; // verification URL encoded in the QR, the image itself is rendered on demand
 
     @Column(name = "Block", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
     private boolean block; // true if the certificate is blocked, false otherwise
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Status", nullable = false, columnDefinition = "VARCHAR(16) DEFAULT 'ISSUED'")
+    private CertificateStatus status; // PENDING until the issuance job has rendered the PDF
+
+    @PrePersist
+    public void prePersist() {
+        if (this.status == null) this.status = CertificateStatus.ISSUED;
+    }
+
+    public enum CertificateStatus {
+        PENDING,
+        ISSUED,
+        FAILED
+    }
 }
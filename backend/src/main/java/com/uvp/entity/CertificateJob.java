@@ -0,0 +1,63 @@
+package com.uvp.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "CertificateJob", indexes = {
+        @Index(name = "IX_CertificateJob_Status_NextAttemptAt", columnList = "Status, NextAttemptAt"),
+        @Index(name = "IX_CertificateJob_Status_LockedAt", columnList = "Status, LockedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class CertificateJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "JobId")
+    private Integer jobId;
+
+    // one job per certificate, so a retried or re-enqueued issuance never creates a second record
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "CertificateId", nullable = false, unique = true)
+    private Certificate certificate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Status", nullable = false)
+    private JobStatus status;
+
+    @Column(name = "Attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "NextAttemptAt", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "LockedAt")
+    private LocalDateTime lockedAt; // set while a worker owns the job
+
+    @Column(name = "LastError", length = 1000)
+    private String lastError;
+
+    @Column(name = "CreatedAt")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) this.createdAt = LocalDateTime.now();
+        if (this.status == null) this.status = JobStatus.PENDING;
+        if (this.attempts == null) this.attempts = 0;
+        if (this.nextAttemptAt == null) this.nextAttemptAt = this.createdAt;
+    }
+
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+}
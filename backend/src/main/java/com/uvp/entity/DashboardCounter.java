@@ -0,0 +1,24 @@
+package com.uvp.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+// Running total behind one admin dashboard figure (e.g. "users", "tasks.CLOSED"), kept up to date in the
+// same transaction as the row change it counts. See DashboardCounterService.
+@Entity
+@Table(name = "DashboardCounter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class DashboardCounter {
+
+    @Id
+    @Column(name = "Name", length = 64)
+    private String name;
+
+    @Column(name = "Value", nullable = false)
+    private Long value;
+}
@@ -0,0 +1,45 @@
+package com.uvp.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// One stored upload, addressed by the SHA-256 of its bytes. Submission.proofFile and Task.images
+// hold its Path; RefCount is how many of those rows point at it.
+@Entity
+@Table(name = "FileBlob")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class FileBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "BlobId")
+    private Integer blobId;
+
+    @Column(name = "Hash", nullable = false, unique = true, length = 64)
+    private String hash;
+
+    // e.g. uploads/blobs/ab/cd/abcd...ef.png
+    @Column(name = "Path", nullable = false, unique = true)
+    private String path;
+
+    @Column(name = "Size", nullable = false)
+    private Long size;
+
+    @Column(name = "RefCount", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "CreatedAt")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.refCount == null) this.refCount = 1;
+        if (this.createdAt == null) this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,37 @@
+package com.uvp.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+// Dashboard badges of one organization, kept up to date as its applications and submissions change
+// (OrganizationSummaryService) instead of counted from the org's whole history on every page load.
+@Entity
+@Table(name = "OrganizationSummary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class OrganizationSummary {
+
+    @Id
+    @Column(name = "OrgId")
+    private Integer orgId;
+
+    @Column(name = "PendingApplications", nullable = false)
+    private Long pendingApplications;
+
+    @Column(name = "ApprovedApplications", nullable = false)
+    private Long approvedApplications;
+
+    @Column(name = "RejectedApplications", nullable = false)
+    private Long rejectedApplications;
+
+    // proofs the organization has not verified yet / has verified
+    @Column(name = "SubmissionsInReview", nullable = false)
+    private Long submissionsInReview;
+
+    @Column(name = "SubmissionsApproved", nullable = false)
+    private Long submissionsApproved;
+}
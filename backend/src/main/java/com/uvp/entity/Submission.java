@@ -1,12 +1,18 @@
 package com.uvp.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.uvp.config.SequenceTableId;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Submission")
+@Table(name = "Submission", indexes = {
+        // inbox stages filter on the flags and page by (SubmittedAt, SubmissionId)
+        @Index(name = "IX_Submission_Org_Admin_SubmittedAt", columnList = "VerifiedByOrg, VerifiedByAdmin, SubmittedAt, SubmissionId"),
+        @Index(name = "IX_Submission_Admin_SubmittedAt", columnList = "VerifiedByAdmin, SubmittedAt, SubmissionId"),
+        @Index(name = "IX_Submission_ProofFile", columnList = "ProofFile")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,7 +21,7 @@ import java.time.LocalDateTime;
 public class Submission {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceTableId("Submission")
     @Column(name = "SubmissionId")
     private Integer submissionId;
 
@@ -26,6 +32,16 @@ public class Submission {
     @Column(name = "ProofFile")
     private String proofFile; // file path or URL
 
+    @Column(name = "FileName")
+    private String fileName; // name the volunteer uploaded it under
+
+    // Smaller renditions of an image proof, filled in by ImageDerivativeService once generated
+    @Column(name = "ProofThumbnail")
+    private String proofThumbnail;
+
+    @Column(name = "ProofMedium")
+    private String proofMedium;
+
     @Column(name = "SubmittedAt")
     private LocalDateTime submittedAt;
 
@@ -1,23 +1,33 @@
 package com.uvp.entity;
 
 import com.fasterxml.jackson.annotation.*;
+import com.uvp.config.SecondLevelCacheConfig;
+import com.uvp.config.SequenceTableId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "Task")
+@Table(name = "Task", indexes = {
+        // keyset pagination of the task feed (TaskRepository.findFeedPage / findOrgFeedPage)
+        @Index(name = "IX_Task_Status_CreatedAt", columnList = "Status, CreatedAt, TaskId"),
+        @Index(name = "IX_Task_Org_Status_CreatedAt", columnList = "OrgId, Status, CreatedAt, TaskId"),
+        @Index(name = "IX_Task_Images", columnList = "Images")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TASK_REGION)
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceTableId("Task")
     @Column(name = "TaskId")
     private Integer taskId;
 
@@ -52,13 +62,29 @@ public class Task {
     @Column(name = "Images")
     private String images; // comma-separated URLs or paths
 
+    // Smaller renditions of images, filled in by ImageDerivativeService once generated
+    @Column(name = "Thumbnail")
+    private String thumbnail;
+
+    @Column(name = "MediumImage")
+    private String mediumImage;
+
     @Column(name = "CreatedAt")
     private LocalDateTime createdAt;
 
+    // Approved applications, maintained by OrganizationSummaryService (fill rate = filledSeats / capacity).
+    // Only ever changed by UPDATE queries: saving a loaded Task must not write back a stale count.
+    // (ReservedSeats, the seats held by pending + approved applications, is deliberately not mapped here;
+    // see TaskRepository.reserveSeat.)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "FilledSeats", nullable = false, updatable = false)
+    private Integer filledSeats; // 0 on insert, see prePersist()
+
     @PrePersist
     public void prePersist() {
         if (this.createdAt == null) this.createdAt = LocalDateTime.now();
         if (this.status == null) this.status = TaskStatus.OPEN;
+        if (this.filledSeats == null) this.filledSeats = 0;
     }
 
     public enum TaskStatus {
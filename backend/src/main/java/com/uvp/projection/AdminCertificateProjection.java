@@ -1,5 +1,6 @@
 package com.uvp.projection;
 
+import com.uvp.entity.Certificate.CertificateStatus;
 import java.time.LocalDate;
 
 public interface AdminCertificateProjection {
@@ -10,4 +11,5 @@ public interface AdminCertificateProjection {
     String getUserName();
     Integer getTaskId();
     Boolean getBlock();
+    CertificateStatus getStatus();
 }
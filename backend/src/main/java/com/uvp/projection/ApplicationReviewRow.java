@@ -0,0 +1,11 @@
+package com.uvp.projection;
+
+import com.uvp.entity.Application.ApplicationStatus;
+
+// An application as review sees it: where it belongs and the status being changed from
+public interface ApplicationReviewRow {
+    Integer getApplicationId();
+    Integer getTaskId();
+    Integer getOrgId();
+    ApplicationStatus getStatus();
+}
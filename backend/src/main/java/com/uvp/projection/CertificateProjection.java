@@ -1,12 +1,18 @@
 package com.uvp.projection;
 
+import com.uvp.entity.Certificate.CertificateStatus;
 import java.time.LocalDate;
 
 public interface CertificateProjection {
     Integer getCertificateId();
     String getTaskName();     // mapped from task.title
     LocalDate getIssueDate();
-    String getQrCode();
     Integer getUserId();
     Integer getTaskId();
+    CertificateStatus getStatus();
+
+    default String getQrCodeUrl() {
+        if (getStatus() != CertificateStatus.ISSUED) return null;
+        return "http://localhost:8080/api/volunteer/certificates/" + getCertificateId() + "/qr";
+    }
 }
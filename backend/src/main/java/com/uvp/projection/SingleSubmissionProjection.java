@@ -11,6 +11,8 @@ public interface SingleSubmissionProjection {
     String getVolunteerEmail();
     String getVolunteerPhone();
     String getProofFile();
+    String getProofThumbnail();
+    String getProofMedium();
     LocalDateTime getSubmittedAt();
     String getStatus();
 
@@ -18,4 +20,15 @@ public interface SingleSubmissionProjection {
         if (getProofFile() == null) return null;
         return "http://localhost:8080/" + getProofFile().replace("\\", "/");
     }
+
+    // Smaller renditions for previews, the original until they are generated
+    default String getProofThumbnailUrl() {
+        if (getProofThumbnail() == null) return getProofFileUrl();
+        return "http://localhost:8080/" + getProofThumbnail();
+    }
+
+    default String getProofMediumUrl() {
+        if (getProofMedium() == null) return getProofFileUrl();
+        return "http://localhost:8080/" + getProofMedium();
+    }
 }
@@ -0,0 +1,19 @@
+package com.uvp.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row of the submission inbox, built straight from the inbox query (constructor expression)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionInboxItem implements OrganizationSubmissionProjection {
+    private Integer submissionId;
+    private String userName;
+    private String taskName;
+    private LocalDateTime submittedAt;
+    private String status;
+}
@@ -0,0 +1,12 @@
+package com.uvp.projection;
+
+public interface TaskFillProjection {
+    Integer getTaskId();
+    String getTitle();
+    Integer getCapacity();
+    Integer getFilledSeats();
+
+    default double getFillRate() {
+        return getCapacity() == null || getCapacity() == 0 ? 0 : (double) getFilledSeats() / getCapacity();
+    }
+}
@@ -12,10 +12,23 @@ public interface TaskProjection {
     LocalDate getStartDate();
     LocalDate getEndDate();
     String getImages();
+    String getThumbnail();
+    String getMediumImage();
     LocalDateTime getCreatedAt();
 
     default String getImageUrl() {
         if (getImages() == null) return null;
         return "http://localhost:8080/" + getImages().replace("\\", "/");
     }
+
+    // Smaller renditions for cards and detail pages, the original until they are generated
+    default String getThumbnailUrl() {
+        if (getThumbnail() == null) return getImageUrl();
+        return "http://localhost:8080/" + getThumbnail();
+    }
+
+    default String getMediumUrl() {
+        if (getMediumImage() == null) return getImageUrl();
+        return "http://localhost:8080/" + getMediumImage();
+    }
 }
@@ -0,0 +1,16 @@
+package com.uvp.projection;
+
+import com.uvp.entity.Task.TaskStatus;
+
+import java.time.LocalDate;
+
+// What the task search index needs of a task, streamed when the index is rebuilt
+public interface TaskSearchRow {
+    Integer getTaskId();
+    String getTitle();
+    String getDescription();
+    String getOrganizationName();
+    TaskStatus getStatus();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+}
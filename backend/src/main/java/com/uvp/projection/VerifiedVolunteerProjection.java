@@ -0,0 +1,6 @@
+package com.uvp.projection;
+
+public interface VerifiedVolunteerProjection {
+    Integer getUserId();
+    String getName();
+}
@@ -4,15 +4,22 @@ import com.uvp.entity.Application;
 import com.uvp.entity.Task;
 import com.uvp.entity.User;
 import com.uvp.projection.ApplicationProjection;
+import com.uvp.projection.ApplicationReviewRow;
 import com.uvp.projection.ApplicationTaskProjection;
 import com.uvp.projection.PendingApplicationProjection;
 import com.uvp.projection.ProofTaskProjection;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Integer> {
@@ -32,6 +39,37 @@ public interface ApplicationRepository extends JpaRepository<Application, Intege
     List<ProofTaskProjection> findTaskSummariesByUser(@Param("user") User user);
 
 
+    // The application with everything a serialized Submission shows of it
+    @Query("""
+           SELECT a FROM Application a
+           JOIN FETCH a.user
+           JOIN FETCH a.task t
+           JOIN FETCH t.organizationHome
+           WHERE a.applicationId = :applicationId
+           """)
+    Optional<Application> findWithTaskAndUserById(@Param("applicationId") Integer applicationId);
+
+    // Review and withdrawal lock the applications together with their tasks before touching any counter, so
+    // statuses cannot change underneath them and the Task rows are always locked before the summary row.
+    // orgId null = any organization.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+           SELECT a.applicationId AS applicationId,
+                  t.taskId AS taskId,
+                  t.organizationHome.orgId AS orgId,
+                  a.status AS status
+           FROM Application a
+           JOIN a.task t
+           WHERE a.applicationId IN :ids
+             AND (:orgId IS NULL OR t.organizationHome.orgId = :orgId)
+           ORDER BY a.applicationId
+           """)
+    List<ApplicationReviewRow> lockForReview(@Param("ids") Collection<Integer> ids, @Param("orgId") Integer orgId);
+
+    @Modifying
+    @Query("UPDATE Application a SET a.status = :status WHERE a.applicationId IN :ids")
+    int updateStatus(@Param("ids") Collection<Integer> ids, @Param("status") Application.ApplicationStatus status);
+
     List<Application> findByTask(Task task);
     boolean existsByTaskAndUser(Task task, User user);
 
@@ -48,7 +86,7 @@ public interface ApplicationRepository extends JpaRepository<Application, Intege
             "a.task.title as title, " +
             "a.task.startDate as startDate, " +
             "a.task.endDate as endDate, " +
-            "CONCAT('http://localhost:8080/', a.task.images) as image, " +
+            "CONCAT('http://localhost:8080/', COALESCE(a.task.thumbnail, a.task.images)) as image, " +
             "a.status as status, "+
             "a.applicationId as applicationId "+
             "FROM Application a " +
@@ -74,6 +112,7 @@ public interface ApplicationRepository extends JpaRepository<Application, Intege
            """)
     List<PendingApplicationProjection> findPendingApplicationsByOrgId(
             @Param("orgId") Integer orgId,
-            @Param("status") Application.ApplicationStatus status
+            @Param("status") Application.ApplicationStatus status,
+            Limit limit
     );
 }
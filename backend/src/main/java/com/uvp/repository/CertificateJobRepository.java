@@ -0,0 +1,71 @@
+package com.uvp.repository;
+
+import com.uvp.entity.CertificateJob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CertificateJobRepository extends JpaRepository<CertificateJob, Integer> {
+
+    @Query("""
+           SELECT j.jobId
+           FROM CertificateJob j
+           WHERE j.status = com.uvp.entity.CertificateJob.JobStatus.PENDING
+             AND j.nextAttemptAt <= :now
+           ORDER BY j.nextAttemptAt
+           """)
+    List<Integer> findDueJobIds(@Param("now") LocalDateTime now, Limit limit);
+
+    // Conditional update so only one worker (or node) can take a job
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE CertificateJob j
+           SET j.status = com.uvp.entity.CertificateJob.JobStatus.RUNNING,
+               j.lockedAt = :now,
+               j.attempts = j.attempts + 1
+           WHERE j.jobId = :jobId
+             AND j.status = com.uvp.entity.CertificateJob.JobStatus.PENDING
+           """)
+    int claim(@Param("jobId") Integer jobId, @Param("now") LocalDateTime now);
+
+    // Jobs left RUNNING by a worker that died (e.g. a restart) go back to the queue
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE CertificateJob j
+           SET j.status = com.uvp.entity.CertificateJob.JobStatus.PENDING,
+               j.lockedAt = null
+           WHERE j.status = com.uvp.entity.CertificateJob.JobStatus.RUNNING
+             AND j.lockedAt < :staleBefore
+           """)
+    int releaseStale(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Ends a run only while the worker still holds the lease it claimed: once releaseStale has handed the job
+    // to another worker, LockedAt (or Status) no longer matches and the stale result is dropped (0 rows)
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE CertificateJob j
+           SET j.status = :status,
+               j.nextAttemptAt = :nextAttemptAt,
+               j.lastError = :lastError,
+               j.lockedAt = null
+           WHERE j.jobId = :jobId
+             AND j.status = com.uvp.entity.CertificateJob.JobStatus.RUNNING
+             AND j.lockedAt = :lockedAt
+           """)
+    int finish(@Param("jobId") Integer jobId,
+               @Param("lockedAt") LocalDateTime lockedAt,
+               @Param("status") CertificateJob.JobStatus status,
+               @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+               @Param("lastError") String lastError);
+}
@@ -4,12 +4,17 @@ import com.uvp.entity.Certificate;
 import com.uvp.entity.User;
 import com.uvp.projection.AdminCertificateProjection;
 import com.uvp.projection.CertificateProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CertificateRepository extends JpaRepository<Certificate, Integer> {
@@ -18,9 +23,9 @@ public interface CertificateRepository extends JpaRepository<Certificate, Intege
     @Query("SELECT c.certificateId as certificateId, " +
             "t.title as taskName, " +
             "c.issueDate as issueDate, " +
-            "c.qrCode as qrCode, " +
             "c.user.userId as userId, "+
-            "t.taskId as taskId "+
+            "t.taskId as taskId, "+
+            "c.status as status "+
             "FROM Certificate c " +
             "JOIN c.task t " +
             "WHERE c.user.userId = :userId "+
@@ -29,13 +34,43 @@ public interface CertificateRepository extends JpaRepository<Certificate, Intege
 
     List<Certificate> findByTask_TaskId(Integer taskId);
 
+    @Query("SELECT c.qrCode FROM Certificate c WHERE c.certificateId = :certificateId AND c.qrCode IS NOT NULL")
+    Optional<String> findQrCodeById(@Param("certificateId") Integer certificateId);
+
+    // Native updates name the tables they touch, else Hibernate evicts every second-level cache region.
+    // 0 rows when the (task, user) already has a certificate: UX_Certificate_Task_User decides, so two
+    // concurrent approvals cannot both insert, and a duplicate does not roll back the caller's transaction
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "Certificate"))
+    @Query(value = "INSERT IGNORE INTO Certificate (CertificateId, UserId, TaskId, Block, Status) " +
+            "VALUES (:certificateId, :userId, :taskId, false, 'PENDING')", nativeQuery = true)
+    int insertPendingIfAbsent(@Param("certificateId") Integer certificateId,
+                              @Param("userId") Integer userId,
+                              @Param("taskId") Integer taskId);
+
+    @Query("SELECT c FROM Certificate c " +
+            "JOIN FETCH c.user " +
+            "JOIN FETCH c.task t " +
+            "JOIN FETCH t.organizationHome " +
+            "WHERE c.certificateId = :certificateId")
+    Optional<Certificate> findWithDetailsById(@Param("certificateId") Integer certificateId);
+
+    @Query("SELECT c FROM Certificate c " +
+            "JOIN FETCH c.user u " +
+            "JOIN FETCH c.task t " +
+            "JOIN FETCH t.organizationHome " +
+            "WHERE u.userId = :userId AND t.taskId = :taskId")
+    Optional<Certificate> findWithDetailsByUserIdAndTaskId(@Param("userId") Integer userId,
+                                                          @Param("taskId") Integer taskId);
+
     @Query("SELECT c.certificateId AS certificateId, " +
             "t.title AS taskName, " +
             "u.name AS userName, " +
             "c.issueDate AS issueDate, " +
             "u.userId AS userId, " +
             "t.taskId AS taskId, " +
-            "c.block AS block "+
+            "c.block AS block, "+
+            "c.status AS status "+
             "FROM Certificate c " +
             "JOIN c.task t " +
             "JOIN c.user u")
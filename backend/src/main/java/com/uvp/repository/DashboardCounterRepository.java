@@ -0,0 +1,71 @@
+package com.uvp.repository;
+
+import com.uvp.entity.DashboardCounter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, String> {
+
+    // Relative update, so concurrent writers never lose each other's changes
+    @Modifying
+    @Transactional
+    @Query("UPDATE DashboardCounter c SET c.value = c.value + :delta WHERE c.name = :name")
+    int add(@Param("name") String name, @Param("delta") long delta);
+
+    // Reconciliation: one statement per counter, so no writer can commit between the count and the write.
+    // The counter row is locked before the subquery scans, the order the writers use (see DashboardCounterService).
+    // The native-spaces hint keeps Hibernate from evicting every second-level cache region on these updates.
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "DashboardCounter"))
+    @Query(value = "INSERT IGNORE INTO DashboardCounter (Name, Value) VALUES (:name, 0)", nativeQuery = true)
+    int insertMissing(@Param("name") String name);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "DashboardCounter"))
+    @Query(value = """
+           UPDATE DashboardCounter
+           SET Value = (SELECT COUNT(*) FROM `user`)
+           WHERE Name = :name
+           """, nativeQuery = true)
+    int recountUsers(@Param("name") String name);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "DashboardCounter"))
+    @Query(value = """
+           UPDATE DashboardCounter
+           SET Value = (SELECT COUNT(*) FROM OrganizationHome)
+           WHERE Name = :name
+           """, nativeQuery = true)
+    int recountOrganizations(@Param("name") String name);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "DashboardCounter"))
+    @Query(value = """
+           UPDATE DashboardCounter
+           SET Value = (SELECT COUNT(*) FROM Task)
+           WHERE Name = :name
+           """, nativeQuery = true)
+    int recountTasks(@Param("name") String name);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "DashboardCounter"))
+    @Query(value = """
+           UPDATE DashboardCounter
+           SET Value = (SELECT COUNT(*) FROM Task WHERE Status = :status)
+           WHERE Name = :name
+           """, nativeQuery = true)
+    int recountTasksWithStatus(@Param("name") String name, @Param("status") String status);
+}
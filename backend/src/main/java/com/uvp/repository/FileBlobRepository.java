@@ -0,0 +1,60 @@
+package com.uvp.repository;
+
+import com.uvp.entity.FileBlob;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Reference counts move with the rows that hold the path, so every write runs in the caller's transaction
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, Integer> {
+
+    Optional<FileBlob> findByHash(String hash);
+
+    // plain consistent read, takes no locks
+    boolean existsByHash(String hash);
+
+    // 1 when the row was inserted (the caller stores the file), 0 when the hash is already there. Not
+    // ON DUPLICATE KEY UPDATE: that gap-locks the unique index and deadlocks concurrent uploads of different files
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "FileBlob"))
+    @Query(value = "INSERT IGNORE INTO FileBlob (Hash, Path, Size, RefCount, CreatedAt) " +
+            "VALUES (:hash, :path, :size, 1, NOW())", nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("path") String path, @Param("size") long size);
+
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("UPDATE FileBlob b SET b.refCount = b.refCount + 1 WHERE b.hash = :hash")
+    int retain(@Param("hash") String hash);
+
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("UPDATE FileBlob b SET b.refCount = b.refCount - 1 WHERE b.path = :path AND b.refCount > 0")
+    int release(@Param("path") String path);
+
+    // Only removes the row if that was the last reference
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM FileBlob b WHERE b.path = :path AND b.refCount = 0")
+    int deleteIfUnreferenced(@Param("path") String path);
+
+    // Locks the hash (the gap, if there is no row) until the transaction ends
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT COUNT(*) FROM FileBlob WHERE Hash = :hash FOR UPDATE", nativeQuery = true)
+    long lockByHash(@Param("hash") String hash);
+
+    // Current read of a row this transaction already retained (a plain read may predate its insert)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT Path FROM FileBlob WHERE Hash = :hash FOR UPDATE", nativeQuery = true)
+    String lockPathByHash(@Param("hash") String hash);
+}
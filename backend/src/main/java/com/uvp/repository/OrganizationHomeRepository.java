@@ -1,7 +1,11 @@
 package com.uvp.repository;
 
+import com.uvp.config.SecondLevelCacheConfig;
 import com.uvp.entity.OrganizationHome;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +16,11 @@ public interface OrganizationHomeRepository extends JpaRepository<OrganizationHo
     Optional<OrganizationHome> findByEmail(String email);
     boolean existsByEmail(String email);
 
+    // Result cached until an OrganizationHome row changes (or cache.queries.ttl)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.ORGANIZATIONS_BY_TYPE_REGION)
+    })
     List<OrganizationHome> findByType(String type);
 }
 
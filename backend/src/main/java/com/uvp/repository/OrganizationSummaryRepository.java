@@ -0,0 +1,83 @@
+package com.uvp.repository;
+
+import com.uvp.entity.OrganizationSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OrganizationSummaryRepository extends JpaRepository<OrganizationSummary, Integer> {
+
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE OrganizationSummary s
+           SET s.pendingApplications = s.pendingApplications + :pending,
+               s.approvedApplications = s.approvedApplications + :approved,
+               s.rejectedApplications = s.rejectedApplications + :rejected
+           WHERE s.orgId = :orgId
+           """)
+    int adjustApplications(@Param("orgId") Integer orgId,
+                           @Param("pending") long pending,
+                           @Param("approved") long approved,
+                           @Param("rejected") long rejected);
+
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE OrganizationSummary s
+           SET s.submissionsInReview = s.submissionsInReview + :inReview,
+               s.submissionsApproved = s.submissionsApproved + :approved
+           WHERE s.orgId = :orgId
+           """)
+    int adjustSubmissions(@Param("orgId") Integer orgId,
+                          @Param("inReview") long inReview,
+                          @Param("approved") long approved);
+
+    // Reconciliation: adds rows for orgs that have none, then recounts every row from the source tables.
+    // The native-spaces hint keeps Hibernate from evicting every second-level cache region on these updates.
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "OrganizationSummary"))
+    @Query(value = """
+           INSERT INTO OrganizationSummary (OrgId, PendingApplications, ApprovedApplications, RejectedApplications,
+                                            SubmissionsInReview, SubmissionsApproved)
+           SELECT o.OrgId, 0, 0, 0, 0, 0
+           FROM OrganizationHome o
+           WHERE NOT EXISTS (SELECT 1 FROM OrganizationSummary s WHERE s.OrgId = o.OrgId)
+           """, nativeQuery = true)
+    int insertMissing();
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "OrganizationSummary"))
+    @Query(value = """
+           UPDATE OrganizationSummary s
+           LEFT JOIN (SELECT t.OrgId,
+                             SUM(a.Status = 'PENDING') AS Pending,
+                             SUM(a.Status = 'APPROVED') AS Approved,
+                             SUM(a.Status = 'REJECTED') AS Rejected
+                      FROM Application a
+                      JOIN Task t ON t.TaskId = a.TaskId
+                      GROUP BY t.OrgId) x ON x.OrgId = s.OrgId
+           LEFT JOIN (SELECT t.OrgId,
+                             SUM(sb.VerifiedByOrg = 0) AS InReview,
+                             SUM(sb.VerifiedByOrg = 1) AS Approved
+                      FROM Submission sb
+                      JOIN Application a ON a.ApplicationId = sb.ApplicationId
+                      JOIN Task t ON t.TaskId = a.TaskId
+                      GROUP BY t.OrgId) y ON y.OrgId = s.OrgId
+           SET s.PendingApplications = COALESCE(x.Pending, 0),
+               s.ApprovedApplications = COALESCE(x.Approved, 0),
+               s.RejectedApplications = COALESCE(x.Rejected, 0),
+               s.SubmissionsInReview = COALESCE(y.InReview, 0),
+               s.SubmissionsApproved = COALESCE(y.Approved, 0)
+           """, nativeQuery = true)
+    int recount();
+}
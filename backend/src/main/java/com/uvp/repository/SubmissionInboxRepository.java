@@ -0,0 +1,47 @@
+package com.uvp.repository;
+
+import com.uvp.projection.SubmissionInboxItem;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Filterable, keyset-paginated listing of submissions for the org and admin review screens.
+// Implemented in SubmissionInboxRepositoryImpl; mixed into SubmissionRepository.
+public interface SubmissionInboxRepository {
+
+    enum Stage {
+        ORG_PENDING,      // not yet verified by the organization
+        ORG_APPROVED,     // verified by the organization
+        ADMIN_PENDING,    // not yet verified by the admin
+        ADMIN_APPROVED,   // verified by the admin
+        AWAITING_ADMIN    // verified by the organization, not yet by the admin
+    }
+
+    // Whose verification the status column reports
+    enum Audience {
+        ORG,
+        ADMIN
+    }
+
+    // Every field is optional except audience. from/to are inclusive days of SubmittedAt.
+    // afterSubmittedAt/afterSubmissionId are the last row of the previous page (keyset position).
+    @Builder
+    record Filter(Integer orgId,
+                  Stage stage,
+                  Integer taskId,
+                  LocalDate from,
+                  LocalDate to,
+                  boolean newestFirst,
+                  Audience audience,
+                  LocalDateTime afterSubmittedAt,
+                  Integer afterSubmissionId) {
+    }
+
+    // Ordered by (SubmittedAt, SubmissionId) in the filter's direction; limit <= 0 returns every row
+    List<SubmissionInboxItem> findInbox(Filter filter, int limit);
+
+    // Rows matching the filter, ignoring the keyset position
+    long countInbox(Filter filter);
+}
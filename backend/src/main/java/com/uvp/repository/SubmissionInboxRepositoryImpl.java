@@ -0,0 +1,100 @@
+package com.uvp.repository;
+
+import com.uvp.projection.SubmissionInboxItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Builds the JPQL from the filter so every stage/org/task/date combination is one indexed query
+// instead of one @Query per combination. Only the joins a filter needs are added to the count.
+public class SubmissionInboxRepositoryImpl implements SubmissionInboxRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SubmissionInboxItem> findInbox(Filter filter, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        String statusColumn = filter.audience() == Audience.ADMIN ? "s.verifiedByAdmin" : "s.verifiedByOrg";
+        String direction = filter.newestFirst() ? "DESC" : "ASC";
+
+        StringBuilder jpql = new StringBuilder("""
+                SELECT new com.uvp.projection.SubmissionInboxItem(
+                       s.submissionId, u.name, t.title, s.submittedAt,
+                       CASE WHEN %s = true THEN 'APPROVED' ELSE 'UNDER_REVIEW' END)
+                FROM Submission s
+                JOIN s.application a
+                JOIN a.user u
+                JOIN a.task t
+                WHERE 1 = 1
+                """.formatted(statusColumn));
+        appendFilters(jpql, filter, params);
+
+        if (filter.afterSubmittedAt() != null && filter.afterSubmissionId() != null) {
+            String op = filter.newestFirst() ? "<" : ">";
+            jpql.append(" AND (s.submittedAt ").append(op).append(" :afterAt")
+                    .append(" OR (s.submittedAt = :afterAt AND s.submissionId ").append(op).append(" :afterId))");
+            params.put("afterAt", filter.afterSubmittedAt());
+            params.put("afterId", filter.afterSubmissionId());
+        }
+        jpql.append(" ORDER BY s.submittedAt ").append(direction).append(", s.submissionId ").append(direction);
+
+        TypedQuery<SubmissionInboxItem> query = entityManager.createQuery(jpql.toString(), SubmissionInboxItem.class);
+        params.forEach(query::setParameter);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public long countInbox(Filter filter) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(s) FROM Submission s");
+        if (filter.orgId() != null || filter.taskId() != null) {
+            jpql.append(" JOIN s.application a");
+        }
+        if (filter.orgId() != null) {
+            jpql.append(" JOIN a.task t");
+        }
+        jpql.append(" WHERE 1 = 1");
+        appendFilters(jpql, filter, params);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private static void appendFilters(StringBuilder jpql, Filter filter, Map<String, Object> params) {
+        if (filter.stage() != null) {
+            jpql.append(switch (filter.stage()) {
+                case ORG_PENDING -> " AND s.verifiedByOrg = false";
+                case ORG_APPROVED -> " AND s.verifiedByOrg = true";
+                case ADMIN_PENDING -> " AND s.verifiedByAdmin = false";
+                case ADMIN_APPROVED -> " AND s.verifiedByAdmin = true";
+                case AWAITING_ADMIN -> " AND s.verifiedByOrg = true AND s.verifiedByAdmin = false";
+            });
+        }
+        if (filter.orgId() != null) {
+            jpql.append(" AND t.organizationHome.orgId = :orgId");
+            params.put("orgId", filter.orgId());
+        }
+        if (filter.taskId() != null) {
+            // compares the FK column on Application, Task itself is not needed
+            jpql.append(" AND a.task.taskId = :taskId");
+            params.put("taskId", filter.taskId());
+        }
+        if (filter.from() != null) {
+            jpql.append(" AND s.submittedAt >= :from");
+            params.put("from", filter.from().atStartOfDay());
+        }
+        if (filter.to() != null) {
+            jpql.append(" AND s.submittedAt < :to");
+            params.put("to", filter.to().plusDays(1).atStartOfDay());
+        }
+    }
+}
@@ -3,20 +3,27 @@ package com.uvp.repository;
 import com.uvp.entity.Application;
 import com.uvp.entity.Submission;
 import com.uvp.entity.User;
-import com.uvp.projection.OrganizationSubmissionProjection;
 import com.uvp.projection.SingleSubmissionProjection;
 import com.uvp.projection.SubmissionProjection;
+import com.uvp.projection.VerifiedVolunteerProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface SubmissionRepository extends JpaRepository<Submission, Integer> {
+public interface SubmissionRepository extends JpaRepository<Submission, Integer>, SubmissionInboxRepository {
     List<Submission> findByApplication(Application application);
 
+    // Review actions need the volunteer, the task and its org id: one query instead of a lazy load per hop
+    @Query("SELECT s FROM Submission s JOIN FETCH s.application a JOIN FETCH a.task WHERE s.submissionId = :submissionId")
+    Optional<Submission> findWithApplicationById(@Param("submissionId") Integer submissionId);
+
     @Query("""
     SELECT s.submissionId AS id,
            t.title AS taskTitle,
@@ -26,7 +33,7 @@ public interface SubmissionRepository extends JpaRepository<Submission, Integer>
                WHEN s.verifiedByOrg = true THEN 'Pending Admin'
                ELSE 'Pending'
            END AS status,
-           FUNCTION('REPLACE', s.proofFile, 'uploads\\submissions\\', '') AS fileName
+           COALESCE(s.fileName, FUNCTION('REPLACE', s.proofFile, 'uploads\\submissions\\', '')) AS fileName
     FROM Submission s
     JOIN s.application a
     JOIN a.task t
@@ -34,42 +41,6 @@ public interface SubmissionRepository extends JpaRepository<Submission, Integer>
 """)
     List<SubmissionProjection> findUserSubmissions(@Param("userId") Integer userId);
 
-    @Query("""
-           SELECT s.submissionId AS submissionId,
-                  u.name AS userName,
-                  t.title AS taskName,
-                  s.submittedAt AS submittedAt,
-                  CASE 
-                      WHEN s.verifiedByOrg = true THEN 'APPROVED'
-                      ELSE 'UNDER_REVIEW'
-                  END AS status
-           FROM Submission s
-           JOIN s.application a
-           JOIN a.user u
-           JOIN a.task t
-           WHERE s.verifiedByOrg = true AND t.organizationHome.orgId= :orgId
-           ORDER BY s.submittedAt DESC
-           """)
-    List<OrganizationSubmissionProjection> findApprovedSubmissions(@Param("orgId") Integer orgId);
-
-    @Query("""
-           SELECT s.submissionId AS submissionId,
-                  u.name AS userName,
-                  t.title AS taskName,
-                  s.submittedAt AS submittedAt,
-                  CASE
-                      WHEN s.verifiedByOrg = true THEN 'APPROVED'
-                      ELSE 'UNDER_REVIEW'
-                  END AS status
-           FROM Submission s
-           JOIN s.application a
-           JOIN a.user u
-           JOIN a.task t
-           WHERE s.verifiedByOrg = false AND t.organizationHome.orgId= :orgId
-           ORDER BY s.submittedAt DESC
-           """)
-    List<OrganizationSubmissionProjection> findInProcessSubmissions(@Param("orgId") Integer orgId);
-
     @Query("""
        SELECT s.submissionId AS submissionId,
               t.title AS taskTitle,
@@ -77,6 +48,8 @@ public interface SubmissionRepository extends JpaRepository<Submission, Integer>
               u.email AS volunteerEmail,
               u.phone AS volunteerPhone,
               s.proofFile AS proofFile,
+              s.proofThumbnail AS proofThumbnail,
+              s.proofMedium AS proofMedium,
               s.submittedAt AS submittedAt,
               CASE
                   WHEN s.verifiedByOrg = true THEN 'APPROVED'
@@ -90,42 +63,6 @@ public interface SubmissionRepository extends JpaRepository<Submission, Integer>
        """)
     SingleSubmissionProjection findSubmissionDetailById(@Param("submissionId") Integer submissionId);
 
-    @Query("""
-           SELECT s.submissionId AS submissionId,
-                  u.name AS userName,
-                  t.title AS taskName,
-                  s.submittedAt AS submittedAt,
-                  CASE 
-                      WHEN s.verifiedByAdmin = true THEN 'APPROVED'
-                      ELSE 'UNDER_REVIEW'
-                  END AS status
-           FROM Submission s
-           JOIN s.application a
-           JOIN a.user u
-           JOIN a.task t
-           WHERE s.verifiedByAdmin = true 
-           ORDER BY s.submittedAt
-           """)
-    List<OrganizationSubmissionProjection> findByVerifiedByAdmin();
-
-    @Query("""
-           SELECT s.submissionId AS submissionId,
-                  u.name AS userName,
-                  t.title AS taskName,
-                  s.submittedAt AS submittedAt,
-                  CASE
-                      WHEN s.verifiedByAdmin = true THEN 'APPROVED'
-                      ELSE 'UNDER_REVIEW'
-                  END AS status
-           FROM Submission s
-           JOIN s.application a
-           JOIN a.user u
-           JOIN a.task t
-           WHERE s.verifiedByAdmin = false
-           ORDER BY s.submittedAt 
-           """)
-    List<OrganizationSubmissionProjection> findByNotVerifiedByAdmin();
-
     @Query("""
        SELECT s.submissionId AS submissionId,
               t.title AS taskTitle,
@@ -133,6 +70,8 @@ public interface SubmissionRepository extends JpaRepository<Submission, Integer>
               u.email AS volunteerEmail,
               u.phone AS volunteerPhone,
               s.proofFile AS proofFile,
+              s.proofThumbnail AS proofThumbnail,
+              s.proofMedium AS proofMedium,
               s.submittedAt AS submittedAt,
               CASE
                   WHEN s.verifiedByAdmin = true THEN 'APPROVED'
@@ -145,4 +84,34 @@ public interface SubmissionRepository extends JpaRepository<Submission, Integer>
        WHERE s.submissionId = :submissionId
        """)
     SingleSubmissionProjection findAdminSubmissionDetailById(@Param("submissionId") Integer id);
+
+    // Volunteers of a task whose proof is verified by both the org and the admin but who have no certificate yet
+    @Query("""
+       SELECT DISTINCT u.userId AS userId,
+              u.name AS name
+       FROM Submission s
+       JOIN s.application a
+       JOIN a.user u
+       WHERE a.task.taskId = :taskId
+         AND s.verifiedByOrg = true
+         AND s.verifiedByAdmin = true
+         AND NOT EXISTS (
+             SELECT 1 FROM Certificate c
+             WHERE c.user = u AND c.task = a.task
+         )
+       """)
+    List<VerifiedVolunteerProjection> findUncertifiedVolunteers(@Param("taskId") Integer taskId);
+
+    // Rows whose proof file predates the blob store
+    List<Submission> findByProofFileNotNullAndProofFileNotLike(String pattern);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Submission s SET s.proofThumbnail = :thumbnail, s.proofMedium = :medium WHERE s.proofFile = :proofFile")
+    int setProofDerivatives(@Param("proofFile") String proofFile,
+                            @Param("thumbnail") String thumbnail,
+                            @Param("medium") String medium);
+
+    @Query("SELECT DISTINCT s.proofFile FROM Submission s WHERE s.proofFile LIKE 'uploads/blobs/%' AND s.proofThumbnail IS NULL")
+    List<String> findProofsWithoutDerivatives();
 }
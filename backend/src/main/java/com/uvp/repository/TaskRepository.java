@@ -2,11 +2,29 @@ package com.uvp.repository;
 
 import com.uvp.entity.OrganizationHome;
 import com.uvp.entity.Task;
+import com.uvp.projection.TaskFillProjection;
 import com.uvp.projection.TaskProjection;
+import com.uvp.projection.TaskSearchRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
@@ -14,8 +32,155 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     List<TaskProjection> findByOrganizationHomeOrgIdAndStatusOrderByCreatedAtDesc(Integer orgId, Task.TaskStatus status);
 
 
+    // Keyset pages of the task feed, newest first: everything strictly after the (createdAt, taskId) cursor.
+    // Served by IX_Task_Status_CreatedAt / IX_Task_Org_Status_CreatedAt, so every page costs the same.
+    @Query("""
+           SELECT t.taskId AS taskId, t.title AS title, t.status AS status, t.capacity AS capacity,
+                  t.startDate AS startDate, t.endDate AS endDate, t.images AS images,
+                  t.thumbnail AS thumbnail, t.mediumImage AS mediumImage, t.createdAt AS createdAt
+           FROM Task t
+           WHERE t.status = :status
+             AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.taskId < :taskId))
+           ORDER BY t.createdAt DESC, t.taskId DESC
+           """)
+    List<TaskProjection> findFeedPage(@Param("status") Task.TaskStatus status,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("taskId") Integer taskId,
+                                      Limit limit);
+
+    @Query("""
+           SELECT t.taskId AS taskId, t.title AS title, t.status AS status, t.capacity AS capacity,
+                  t.startDate AS startDate, t.endDate AS endDate, t.images AS images,
+                  t.thumbnail AS thumbnail, t.mediumImage AS mediumImage, t.createdAt AS createdAt
+           FROM Task t
+           WHERE t.organizationHome.orgId = :orgId
+             AND t.status = :status
+             AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.taskId < :taskId))
+           ORDER BY t.createdAt DESC, t.taskId DESC
+           """)
+    List<TaskProjection> findOrgFeedPage(@Param("orgId") Integer orgId,
+                                         @Param("status") Task.TaskStatus status,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("taskId") Integer taskId,
+                                         Limit limit);
+
+    // Returned as entities and serialized with their organization, so fetch it in the same query
+    @EntityGraph(attributePaths = "organizationHome")
     List<Task> findByOrganizationHomeOrgId(Integer orgId);
 
+    List<TaskProjection> findByTaskIdIn(Collection<Integer> taskIds);
+
+    // Row-by-row from MySQL (fetch size MIN_VALUE) instead of the whole table in memory; needs a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+           SELECT t.taskId AS taskId,
+                  t.title AS title,
+                  t.description AS description,
+                  o.name AS organizationName,
+                  t.status AS status,
+                  t.startDate AS startDate,
+                  t.endDate AS endDate
+           FROM Task t
+           JOIN t.organizationHome o
+           """)
+    Stream<TaskSearchRow> streamSearchRows();
+
     Long countByStatus(Task.TaskStatus taskStatus);
-}
 
+    @Query("SELECT t FROM Task t JOIN FETCH t.organizationHome WHERE t.taskId = :taskId")
+    Optional<Task> findWithOrganizationById(@Param("taskId") Integer taskId);
+
+    // For edits that save the whole Task: holds the row until commit, so a status change committed meanwhile
+    // (closeService) is read rather than written back over. Only the Task row is locked, not its organization.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.taskId = :taskId")
+    Optional<Task> lockById(@Param("taskId") Integer taskId);
+
+    // Rows whose image predates the blob store
+    List<Task> findByImagesNotNullAndImagesNotLike(String pattern);
+
+    // Status only, so a close never writes back other columns from an earlier read. Conditional on the status
+    // the caller counted from; runs in the caller's transaction next to the DashboardCounter update
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("UPDATE Task t SET t.status = :to WHERE t.taskId = :taskId AND t.status = :from")
+    int changeStatus(@Param("taskId") Integer taskId,
+                     @Param("from") Task.TaskStatus from,
+                     @Param("to") Task.TaskStatus to);
+
+    // Every task showing this (content-addressed) image gets its renditions
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.thumbnail = :thumbnail, t.mediumImage = :medium WHERE t.images = :images")
+    int setImageDerivatives(@Param("images") String images,
+                            @Param("thumbnail") String thumbnail,
+                            @Param("medium") String medium);
+
+    @Query("SELECT DISTINCT t.images FROM Task t WHERE t.images LIKE 'uploads/blobs/%' AND t.thumbnail IS NULL")
+    List<String> findImagesWithoutDerivatives();
+
+    // Open tasks of an organization with their fill, from the Task row alone (IX_Task_Org_Status_CreatedAt)
+    @Query("""
+           SELECT t.taskId AS taskId,
+                  t.title AS title,
+                  t.capacity AS capacity,
+                  t.filledSeats AS filledSeats
+           FROM Task t
+           WHERE t.organizationHome.orgId = :orgId
+             AND t.status = com.uvp.entity.Task.TaskStatus.OPEN
+           ORDER BY t.createdAt DESC
+           """)
+    List<TaskFillProjection> findOpenTaskFill(@Param("orgId") Integer orgId);
+
+    // Takes a seat if one is left; 0 rows means the task is full. The row lock is held until commit, so
+    // concurrent appliers queue here. ReservedSeats is not mapped on Task, so the declared query space
+    // matches no cached entity and the Task cache region survives a sign-up burst.
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY) // the seat goes with the application row, or not at all
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "TaskReservedSeats"))
+    @Query(value = "UPDATE Task SET ReservedSeats = ReservedSeats + 1 WHERE TaskId = :taskId AND ReservedSeats < Capacity",
+            nativeQuery = true)
+    int reserveSeat(@Param("taskId") Integer taskId);
+
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "TaskReservedSeats"))
+    @Query(value = "UPDATE Task SET ReservedSeats = ReservedSeats + :count WHERE TaskId = :taskId AND ReservedSeats + :count <= Capacity",
+            nativeQuery = true)
+    int reserveSeats(@Param("taskId") Integer taskId, @Param("count") int count);
+
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "TaskReservedSeats"))
+    @Query(value = "UPDATE Task SET ReservedSeats = GREATEST(ReservedSeats - :count, 0) WHERE TaskId = :taskId",
+            nativeQuery = true)
+    int releaseSeats(@Param("taskId") Integer taskId, @Param("count") int count);
+
+    // Locking read: the latest committed count, held until commit
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT GREATEST(Capacity - ReservedSeats, 0) FROM Task WHERE TaskId = :taskId FOR UPDATE",
+            nativeQuery = true)
+    int lockFreeSeats(@Param("taskId") Integer taskId);
+
+    @Query(value = "SELECT ReservedSeats FROM Task WHERE TaskId = :taskId", nativeQuery = true)
+    Integer findReservedSeats(@Param("taskId") Integer taskId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.filledSeats = t.filledSeats + :delta WHERE t.taskId = :taskId")
+    int addFilledSeats(@Param("taskId") Integer taskId, @Param("delta") int delta);
+
+    // Evicts only the Task cache region (a native update without spaces would evict every region)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "Task"))
+    @Query(value = """
+           UPDATE Task t
+           LEFT JOIN (SELECT TaskId, COUNT(*) AS Approved
+                      FROM Application
+                      WHERE Status = 'APPROVED'
+                      GROUP BY TaskId) x ON x.TaskId = t.TaskId
+           SET t.FilledSeats = COALESCE(x.Approved, 0)
+           """, nativeQuery = true)
+    int recountFilledSeats();
+}
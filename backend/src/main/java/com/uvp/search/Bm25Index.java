@@ -0,0 +1,178 @@
+package com.uvp.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+// In-memory inverted index ranked with BM25. Each document is a set of weighted term frequencies
+// (callers weight fields by repeating them, e.g. title x3) plus an attribute object D used for filtering.
+// Every query term must match a document, either exactly or as a prefix of one of its terms (type-ahead);
+// prefix matches count for less than exact ones. Writers take the write lock, searches share the read lock.
+public class Bm25Index<D> {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    public record Hit<D>(int id, D attributes, double score) {
+    }
+
+    public record Result<D>(List<Hit<D>> hits, int total) {
+    }
+
+    private record Document<D>(D attributes, Map<String, Float> terms, double length) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (document id -> weighted frequency), sorted so prefixes are a sub-map
+    private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private final Map<Integer, Document<D>> documents = new HashMap<>();
+    private double totalLength;
+
+    public void put(int id, D attributes, Map<String, Float> terms) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            double length = 0;
+            for (Map.Entry<String, Float> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(id, term.getValue());
+                length += term.getValue();
+            }
+            documents.put(id, new Document<>(attributes, Map.copyOf(terms), length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(int id) {
+        Document<D> old = documents.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.terms().keySet()) {
+            Map<Integer, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) postings.remove(term);
+            }
+        }
+        totalLength -= old.length();
+    }
+
+    public List<Integer> ids() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(documents.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // No query terms matches every document that passes the filter, newest (highest id) first
+    public Result<D> search(List<String> queryTerms, Predicate<D> filter, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = queryTerms.isEmpty() ? matchAll(filter) : score(queryTerms, filter);
+
+            // keep only the best offset + limit while counting every match
+            Comparator<Map.Entry<Integer, Double>> order = Map.Entry.<Integer, Double>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey());
+            PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(order);
+            int keep = offset + limit;
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                best.add(entry);
+                if (best.size() > keep) best.poll();
+            }
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(best);
+            ranked.sort(order.reversed());
+
+            List<Hit<D>> hits = new ArrayList<>();
+            for (int i = offset; i < ranked.size(); i++) {
+                int id = ranked.get(i).getKey();
+                hits.add(new Hit<>(id, documents.get(id).attributes(), ranked.get(i).getValue()));
+            }
+            return new Result<>(hits, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Double> matchAll(Predicate<D> filter) {
+        Map<Integer, Double> scores = new HashMap<>();
+        documents.forEach((id, doc) -> {
+            if (filter.test(doc.attributes())) scores.put(id, 0.0);
+        });
+        return scores;
+    }
+
+    private Map<Integer, Double> score(List<String> queryTerms, Predicate<D> filter) {
+        int n = documents.size();
+        double averageLength = n == 0 ? 0 : totalLength / n;
+        Map<Integer, Double> scores = null;
+
+        for (String queryTerm : queryTerms) {
+            // best contribution of this query term per document, over the exact term and its expansions
+            Map<Integer, Double> termScores = new HashMap<>();
+            int expansions = 0;
+            for (Map.Entry<String, Map<Integer, Float>> term : postings.tailMap(queryTerm, true).entrySet()) {
+                if (!term.getKey().startsWith(queryTerm)) break;
+                boolean exact = term.getKey().equals(queryTerm);
+                if (!exact && ++expansions > MAX_PREFIX_EXPANSIONS) break;
+
+                Map<Integer, Float> docs = term.getValue();
+                double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+                double weight = exact ? 1.0 : PREFIX_WEIGHT;
+                for (Map.Entry<Integer, Float> posting : docs.entrySet()) {
+                    int id = posting.getKey();
+                    if (scores != null && !scores.containsKey(id)) continue; // already missed an earlier term
+                    double tf = posting.getValue();
+                    double norm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+                    double s = weight * idf * tf * (K1 + 1) / (tf + norm);
+                    termScores.merge(id, s, Math::max);
+                }
+            }
+
+            if (scores == null) {
+                termScores.keySet().removeIf(id -> !filter.test(documents.get(id).attributes()));
+                scores = termScores;
+            } else {
+                Map<Integer, Double> both = new HashMap<>();
+                for (Map.Entry<Integer, Double> entry : termScores.entrySet()) {
+                    both.put(entry.getKey(), scores.get(entry.getKey()) + entry.getValue());
+                }
+                scores = both;
+            }
+            if (scores.isEmpty()) break;
+        }
+        return scores;
+    }
+}
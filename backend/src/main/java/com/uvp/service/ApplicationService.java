@@ -4,6 +4,7 @@ import com.uvp.entity.Application;
 import com.uvp.entity.Task;
 import com.uvp.entity.User;
 import com.uvp.projection.ApplicationProjection;
+import com.uvp.projection.ApplicationReviewRow;
 import com.uvp.projection.ApplicationTaskProjection;
 import com.uvp.projection.PendingApplicationProjection;
 import com.uvp.projection.ProofTaskProjection;
@@ -11,10 +12,26 @@ import com.uvp.repository.ApplicationRepository;
 import com.uvp.repository.TaskRepository;
 import com.uvp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
@@ -22,25 +39,50 @@ public class ApplicationService {
     private final ApplicationRepository applicationRepo;
     private final TaskRepository taskRepo;
     private final UserRepository userRepo;
+    private final OrganizationSummaryService organizationSummaryService;
+    private final TransactionTemplate transactionTemplate;
 
-    public boolean applyForTask(Integer userId, Integer taskId) {
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        Task task = taskRepo.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    @Value("${applications.review.max-batch:500}")
+    private int maxReviewBatch;
 
-        if (applicationRepo.existsByTaskAndUser(task, user)) {
-            return false;
-        }
+    // ER_NO_REFERENCED_ROW_2: a foreign key points at a missing row
+    private static final int MYSQL_NO_REFERENCED_ROW = 1452;
 
-        Application application = Application.builder()
-                .user(user)
-                .task(task)
-                .status(Application.ApplicationStatus.PENDING)
-                .build();
+    // No reads before writing: the seat UPDATE doubles as the task check, the application is inserted against
+    // reference proxies, and the database constraints answer the rest. A second apply by the same volunteer
+    // hits UX_Application_Task_User (409) and an unknown user its foreign key (404); either way the seat
+    // rolls back with the insert. Not @Transactional, so the violation is translated after that rollback.
+    public void applyForTask(Integer userId, Integer taskId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // seat first: it X-locks the Task row the insert's foreign-key check would otherwise S-lock
+                takeSeat(taskId);
+                Task task = taskRepo.getReferenceById(taskId);
+                Application application = applicationRepo.save(Application.builder()
+                        .user(userRepo.getReferenceById(userId))
+                        .task(task)
+                        .status(Application.ApplicationStatus.PENDING)
+                        .build());
+                // the org id comes from the task, usually a second-level cache hit
+                organizationSummaryService.applicationCreated(task.getOrganizationHome().getOrgId(),
+                        application.getStatus());
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw applyRejected(e);
+        }
+    }
 
-        applicationRepo.save(application);
-        return true;
+    private static RuntimeException applyRejected(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation) {
+            if (violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return new ResponseStatusException(HttpStatus.CONFLICT, "Already Applied");
+            }
+            if (violation.getErrorCode() == MYSQL_NO_REFERENCED_ROW) {
+                // the task row is locked by the seat update, so it is the user that does not exist
+                return new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+            }
+        }
+        return e;
     }
 
     public List<ProofTaskProjection> getUserApplications(Integer userId) {
@@ -57,20 +99,159 @@ public class ApplicationService {
         return applicationRepo.findUserAppliedTasks(userId,applicationStatus);
     }
 
+    @Transactional
     public String withdrawApplication(Integer applicationId) {
+        // locked like a review, so a concurrent approval cannot change the status the counters are undone for
+        List<ApplicationReviewRow> rows = applicationRepo.lockForReview(List.of(applicationId), null);
+        if (rows.isEmpty()) {
+            return "Deleted Successfully";
+        }
+        ApplicationReviewRow row = rows.get(0);
+        if (holdsSeat(row.getStatus())) {
+            taskRepo.releaseSeats(row.getTaskId(), 1);
+        }
+        organizationSummaryService.applicationRemoved(row.getOrgId(), row.getTaskId(), row.getStatus());
         applicationRepo.deleteById(applicationId);
         return "Deleted Successfully";
     }
 
     public List<PendingApplicationProjection> getPendingApplication(Integer orgId){
-        return applicationRepo.findPendingApplicationsByOrgId(orgId ,Application.ApplicationStatus.PENDING);
+        return applicationRepo.findPendingApplicationsByOrgId(orgId ,Application.ApplicationStatus.PENDING, Limit.unlimited());
     }
 
+    @Transactional
     public String updateApplicationStatus(Integer applicationId, String status) {
         Application.ApplicationStatus appStatus=Application.ApplicationStatus.valueOf(status.toUpperCase());
-        Application application = applicationRepo.findById(applicationId).orElseThrow();
-        application.setStatus(appStatus);
-        applicationRepo.save(application);
-        return "Successfully Updated";
+        switch (review(null, List.of(applicationId), appStatus).get(0).outcome()) {
+            case NOT_FOUND -> throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Application not found");
+            case TASK_FULL -> throw new ResponseStatusException(HttpStatus.CONFLICT, "Task is full");
+            default -> {
+                return "Successfully Updated";
+            }
+        }
+    }
+
+    public enum ReviewOutcome { UPDATED, UNCHANGED, NOT_FOUND, TASK_FULL }
+
+    public record ReviewRequest(List<Integer> applicationIds, String status) {
+    }
+
+    public record ReviewResult(Integer applicationId, ReviewOutcome outcome) {
+    }
+
+    // Bulk approve / reject from the review screen. Ids of other organizations' applications come back
+    // NOT_FOUND; one result per distinct id, in request order.
+    @Transactional
+    public List<ReviewResult> reviewApplications(Integer orgId, ReviewRequest request) {
+        Application.ApplicationStatus appStatus = reviewStatus(request.status());
+        if (request.applicationIds() == null || request.applicationIds().isEmpty()) {
+            return List.of();
+        }
+        if (request.applicationIds().size() > maxReviewBatch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxReviewBatch + " applications per review");
+        }
+        return review(orgId, request.applicationIds(), appStatus);
+    }
+
+    // A missing or unknown status is the caller's mistake (400), not a server error
+    private static Application.ApplicationStatus reviewStatus(String status) {
+        if (status != null) {
+            for (Application.ApplicationStatus candidate : Application.ApplicationStatus.values()) {
+                if (candidate.name().equalsIgnoreCase(status.trim())) {
+                    return candidate;
+                }
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "status must be one of " + Arrays.toString(Application.ApplicationStatus.values()));
+    }
+
+    // Set-based: one locking read of the applications (and their tasks), seat and counter updates per task,
+    // then a single UPDATE for every changed application, so the statement count does not grow with the batch.
+    // Locks go applications and tasks -> summary row, the same order as every other application write.
+    private List<ReviewResult> review(Integer orgId, List<Integer> applicationIds, Application.ApplicationStatus to) {
+        Set<Integer> ids = new LinkedHashSet<>(applicationIds);
+        Map<Integer, ApplicationReviewRow> rows = new HashMap<>();
+        for (ApplicationReviewRow row : applicationRepo.lockForReview(ids, orgId)) {
+            rows.put(row.getApplicationId(), row);
+        }
+
+        Map<Integer, ReviewOutcome> outcomes = new HashMap<>();
+        Map<Integer, List<ApplicationReviewRow>> changesByTask = new TreeMap<>();
+        for (Integer id : ids) {
+            ApplicationReviewRow row = rows.get(id);
+            if (row == null) {
+                outcomes.put(id, ReviewOutcome.NOT_FOUND);
+            } else if (row.getStatus() == to) {
+                outcomes.put(id, ReviewOutcome.UNCHANGED);
+            } else {
+                changesByTask.computeIfAbsent(row.getTaskId(), taskId -> new ArrayList<>()).add(row);
+            }
+        }
+
+        List<Integer> updated = new ArrayList<>();
+        for (Map.Entry<Integer, List<ApplicationReviewRow>> entry : changesByTask.entrySet()) {
+            Integer taskId = entry.getKey();
+            List<ApplicationReviewRow> changes = moveSeats(taskId, entry.getValue(), to, outcomes);
+            if (changes.isEmpty()) {
+                continue;
+            }
+            Map<Application.ApplicationStatus, Integer> movedFrom = new EnumMap<>(Application.ApplicationStatus.class);
+            for (ApplicationReviewRow row : changes) {
+                movedFrom.merge(row.getStatus(), 1, Integer::sum);
+                outcomes.put(row.getApplicationId(), ReviewOutcome.UPDATED);
+                updated.add(row.getApplicationId());
+            }
+            organizationSummaryService.applicationsReviewed(changes.get(0).getOrgId(), taskId, movedFrom, to);
+        }
+        if (!updated.isEmpty()) {
+            applicationRepo.updateStatus(updated, to);
+        }
+
+        List<ReviewResult> results = new ArrayList<>();
+        for (Integer id : ids) {
+            results.add(new ReviewResult(id, outcomes.get(id)));
+        }
+        return results;
+    }
+
+    // Rejecting gives seats back; reinstating a rejected volunteer needs a free one. Reinstatements beyond
+    // the free seats are TASK_FULL (lowest application ids first); returns the changes that go ahead.
+    private List<ApplicationReviewRow> moveSeats(Integer taskId, List<ApplicationReviewRow> changes,
+                                                 Application.ApplicationStatus to,
+                                                 Map<Integer, ReviewOutcome> outcomes) {
+        if (!holdsSeat(to)) {
+            int released = (int) changes.stream().filter(row -> holdsSeat(row.getStatus())).count();
+            if (released > 0) {
+                taskRepo.releaseSeats(taskId, released);
+            }
+            return changes;
+        }
+        List<ApplicationReviewRow> reinstated = changes.stream().filter(row -> !holdsSeat(row.getStatus())).toList();
+        if (reinstated.isEmpty()) {
+            return changes;
+        }
+        int granted = Math.min(reinstated.size(), taskRepo.lockFreeSeats(taskId));
+        if (granted > 0) {
+            taskRepo.reserveSeats(taskId, granted);
+        }
+        List<ApplicationReviewRow> refused = reinstated.subList(granted, reinstated.size());
+        refused.forEach(row -> outcomes.put(row.getApplicationId(), ReviewOutcome.TASK_FULL));
+        return changes.stream().filter(row -> !refused.contains(row)).toList();
+    }
+
+    // Pending and approved applications each hold one of the task's Capacity seats
+    private static boolean holdsSeat(Application.ApplicationStatus status) {
+        return status != Application.ApplicationStatus.REJECTED;
+    }
+
+    // Nothing updated means full, or no such task: only then is the task looked up
+    private void takeSeat(Integer taskId) {
+        if (taskRepo.reserveSeat(taskId) == 0) {
+            throw taskRepo.existsById(taskId)
+                    ? new ResponseStatusException(HttpStatus.CONFLICT, "Task is full")
+                    : new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found");
+        }
     }
 }
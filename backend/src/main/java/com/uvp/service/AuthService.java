@@ -9,6 +9,7 @@
 
     import org.springframework.security.crypto.password.PasswordEncoder;
     import org.springframework.stereotype.Service;
+    import org.springframework.transaction.annotation.Transactional;
 
     import java.util.Map;
 
@@ -22,12 +23,18 @@
         private UserRepository userRepo;
         @Autowired
         private OrganizationHomeRepository organizationRepository;
+        @Autowired
+        private DashboardCounterService dashboardCounterService;
+        @Autowired
+        private OrganizationSummaryService organizationSummaryService;
 
+        @Transactional
         public boolean register(User user) {
             if (userRepo.existsByEmail(user.getEmail())) {
                 return false;
             }
             user.setPassword(passwordEncoder.encode(user.getPassword()));
+            dashboardCounterService.userRegistered(); // before the insert, the lock order reconcile() uses
             userRepo.save(user);
             return true;
         }
@@ -64,12 +71,15 @@
             return Map.of("token", token);
         }
 
+        @Transactional
         public boolean orgRegister(OrganizationHome org) {
             if (organizationRepository.existsByEmail(org.getEmail())) {
                 return false; // Email already exists
             }
             org.setPassword(passwordEncoder.encode(org.getPassword())); // Encode password
+            dashboardCounterService.organizationRegistered(); // before the insert, the lock order reconcile() uses
             organizationRepository.save(org);
+            organizationSummaryService.organizationRegistered(org.getOrgId());
             return true;
 
         }
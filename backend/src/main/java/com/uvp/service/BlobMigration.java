@@ -0,0 +1,133 @@
+package com.uvp.service;
+
+import com.uvp.entity.Submission;
+import com.uvp.entity.Task;
+import com.uvp.repository.SubmissionRepository;
+import com.uvp.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+// One-off move of the flat uploads/submissions and uploads/tasks folders into the blob store.
+// Enable with upload.blob-migration.enabled=true; rows already in the store are skipped, so it can be re-run.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlobMigration {
+
+    private final SubmissionRepository submissionRepository;
+    private final TaskRepository taskRepository;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${upload.blob-migration.enabled:false}")
+    private boolean enabled;
+
+    // legacy path -> blob path, for rows that pointed at the same old file
+    private final Map<String, String> migrated = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        int submissions = 0, tasks = 0, missing = 0;
+
+        // each row and its blob reference commit together; the old file goes once the row points at the copy
+        for (Submission submission : submissionRepository.findByProofFileNotNullAndProofFileNotLike(BlobStore.ROOT + "%")) {
+            String legacy = submission.getProofFile();
+            String path = transactionTemplate.execute(status -> {
+                String stored = copyIntoStore(legacy);
+                if (stored != null) {
+                    if (submission.getFileName() == null) {
+                        submission.setFileName(legacyFileName(legacy));
+                    }
+                    submission.setProofFile(stored);
+                    submissionRepository.save(submission);
+                }
+                return stored;
+            });
+            if (path == null) {
+                missing++;
+                continue;
+            }
+            deleteLegacy(legacy);
+            submissions++;
+        }
+
+        for (Task task : taskRepository.findByImagesNotNullAndImagesNotLike(BlobStore.ROOT + "%")) {
+            String legacy = task.getImages();
+            String path = transactionTemplate.execute(status -> {
+                String stored = copyIntoStore(legacy);
+                if (stored != null) {
+                    task.setImages(stored);
+                    taskRepository.save(task);
+                }
+                return stored;
+            });
+            if (path == null) {
+                missing++;
+                continue;
+            }
+            deleteLegacy(legacy);
+            tasks++;
+        }
+
+        log.info("Blob migration: moved {} submission proofs and {} task images, {} files not found",
+                submissions, tasks, missing);
+    }
+
+    // The store consumes the copy, so a rolled back row still has its original file
+    private String copyIntoStore(String legacyPath) {
+        String normalized = legacyPath.replace("\\", "/");
+        try {
+            if (migrated.containsKey(normalized)) {
+                // same old file referenced twice: take another reference on its blob
+                String path = migrated.get(normalized);
+                blobStore.retain(path);
+                return path;
+            }
+            Path file = Paths.get(normalized);
+            if (!Files.isRegularFile(file)) {
+                log.warn("Blob migration: missing file {}", legacyPath);
+                return null;
+            }
+            Path copy = Files.createTempFile(file.getParent(), "blob-migration-", ".tmp");
+            Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+            String path = blobStore.adopt(copy, BlobStore.sha256(copy), Files.size(copy),
+                    BlobStore.extension(normalized));
+            migrated.put(normalized, path);
+            return path;
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Blob migration: failed for {}", legacyPath, e);
+            return null;
+        }
+    }
+
+    private void deleteLegacy(String legacyPath) {
+        try {
+            Files.deleteIfExists(Paths.get(legacyPath.replace("\\", "/")));
+        } catch (IOException e) {
+            log.warn("Blob migration: could not delete {}", legacyPath, e);
+        }
+    }
+
+    // uploads/submissions/1758651100565_Screenshot (1).png -> Screenshot (1).png
+    private static String legacyFileName(String legacyPath) {
+        String name = legacyPath.substring(legacyPath.replace("\\", "/").lastIndexOf('/') + 1);
+        return name.matches("\\d+_.+") ? name.substring(name.indexOf('_') + 1) : name;
+    }
+}
@@ -0,0 +1,212 @@
+package com.uvp.service;
+
+import com.uvp.repository.FileBlobRepository;
+import com.uvp.storage.ObjectStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+// Content-addressed store for uploads: a file lives once under uploads/blobs/ab/cd/<sha256>.<ext>
+// (ObjectStorage key blobs/ab/cd/...) however many submissions or tasks reference it,
+// and is deleted when the last reference goes.
+// References are taken and dropped inside the transaction that saves the referencing row (MANDATORY),
+// so a rolled back save never leaves a count behind. The FileBlob row lock orders concurrent adopts and
+// releases of one hash across nodes; files are only deleted after the row is gone for good.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobStore {
+
+    private static final String UPLOADS = "uploads/";
+    public static final String ROOT = UPLOADS + "blobs/";
+    private static final String INCOMING = ROOT + "incoming/";
+
+    private final FileBlobRepository fileBlobRepository;
+    private final UploadStore uploadStore;
+    private final ObjectStorage storage;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor blobCleanupExecutor;
+
+    // An upload streamed to disk (size limits and hashing are done by UploadStore) but not referenced yet
+    public record Staged(Path file, String sha256, long size, String extension) {
+    }
+
+    // Runs before the referencing transaction opens, so a slow upload does not hold a connection
+    public Staged stage(MultipartFile file) throws IOException {
+        UploadStore.StoredUpload staged = uploadStore.store(file, INCOMING);
+        return new Staged(staged.path(), staged.sha256(), staged.size(), extension(file.getOriginalFilename()));
+    }
+
+    // Removes a staged file that was never adopted (the transaction failed before it got there)
+    public void discard(Staged staged) throws IOException {
+        Files.deleteIfExists(staged.file());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String adopt(Staged staged) {
+        return adopt(staged.file(), staged.sha256(), staged.size(), staged.extension());
+    }
+
+    // Takes a reference on the blob holding these bytes, moving the file into the store if they are new.
+    // The retain or insert locks the FileBlob row until the caller commits.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String adopt(Path file, String sha256, long size, String extension) {
+        String path = shardedPath(sha256, extension);
+        try {
+            // retain an existing row before trying the insert: the update locks only that row, while the insert
+            // of a known hash share-locks it and two such uploads deadlock upgrading to the update
+            boolean shared = fileBlobRepository.existsByHash(sha256) && fileBlobRepository.retain(sha256) == 1;
+            if (!shared && fileBlobRepository.insertIfAbsent(sha256, path, size) == 0) {
+                // a concurrent upload of the same content committed first
+                if (fileBlobRepository.retain(sha256) == 0) {
+                    throw new IllegalStateException("Blob " + sha256 + " was removed while it was being adopted");
+                }
+                shared = true;
+            }
+            if (shared) {
+                // already stored (possibly under another extension); share that copy
+                Files.deleteIfExists(file);
+                return fileBlobRepository.lockPathByHash(sha256);
+            }
+            storage.putFile(storageKey(path), file, URLConnection.guessContentTypeFromName(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    blobCleanupExecutor.execute(() -> deleteWhenUnreferenced(path));
+                }
+            }
+        });
+        return path;
+    }
+
+    // Another row now points at an already stored path
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retain(String path) {
+        if (fileBlobRepository.retain(hashOf(path)) == 0) {
+            throw new IllegalStateException("No stored blob for " + path);
+        }
+    }
+
+    // Drops one reference; the row goes in the same transaction when that was the last one, and the
+    // files once it has committed. Paths outside the store (uploads from before the blob store) are
+    // deleted directly as they were never shared.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String path) {
+        if (path == null) {
+            return;
+        }
+        String normalized = path.replace("\\", "/");
+        if (!normalized.startsWith(ROOT)) {
+            afterCommit(() -> deleteQuietly(normalized));
+            return;
+        }
+
+        // the decrement locks the row, so nothing can take a reference between it and the delete
+        if (fileBlobRepository.release(normalized) > 0 && fileBlobRepository.deleteIfUnreferenced(normalized) > 0) {
+            afterCommit(() -> deleteWhenUnreferenced(normalized));
+        }
+    }
+
+    private void afterCommit(Runnable cleanup) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                blobCleanupExecutor.execute(cleanup);
+            }
+        });
+    }
+
+    // Deletes the files unless the bytes were stored again meanwhile: the locking read keeps a concurrent
+    // adopt of the same hash from inserting its row (and writing the file) until the files are gone.
+    // Runs on blobCleanupExecutor, as the committing thread still holds its connection.
+    private void deleteWhenUnreferenced(String path) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (fileBlobRepository.lockByHash(hashOf(path)) == 0) {
+                deleteQuietly(path);
+                deleteQuietly(derivativePath(path, "thumb"));
+                deleteQuietly(derivativePath(path, "medium"));
+            }
+        });
+    }
+
+    private void deleteQuietly(String path) {
+        try {
+            storage.delete(storageKey(path));
+        } catch (IOException e) {
+            log.warn("Could not delete unreferenced upload {}", path, e);
+        }
+    }
+
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String extension(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String ext = fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return ext.matches("[a-z0-9]{1,8}") ? ext : "";
+    }
+
+    // Two levels of 256 directories keep each directory small: ab/cd/abcd...
+    private static String shardedPath(String sha256, String extension) {
+        return ROOT + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256
+                + (extension.isEmpty() ? "" : "." + extension);
+    }
+
+    // Renditions sit next to their original: uploads/blobs/ab/cd/<sha256>_thumb.jpg
+    public static String derivativePath(String path, String suffix) {
+        String hash = hashOf(path);
+        return path.substring(0, path.lastIndexOf('/') + 1) + hash + "_" + suffix + ".jpg";
+    }
+
+    // Paths in the database start with uploads/, storage keys are relative to it
+    public static String storageKey(String path) {
+        return path.startsWith(UPLOADS) ? path.substring(UPLOADS.length()) : path;
+    }
+
+    private static String hashOf(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.uvp.service;
+
+import com.uvp.config.SecondLevelCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Hit/miss/put counts of the second-level cache regions since startup (hibernate.generate_statistics)
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Map<String, Object>> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Object>> regions = new LinkedHashMap<>();
+        for (String region : SecondLevelCacheConfig.REGIONS) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) continue; // region not in use yet
+            long lookups = stats.getHitCount() + stats.getMissCount();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("hits", stats.getHitCount());
+            row.put("misses", stats.getMissCount());
+            row.put("puts", stats.getPutCount());
+            row.put("hitRatio", lookups == 0 ? 0.0 : (double) stats.getHitCount() / lookups);
+            regions.put(region, row);
+        }
+        return regions;
+    }
+}
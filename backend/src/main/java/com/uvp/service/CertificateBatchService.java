@@ -0,0 +1,181 @@
+package com.uvp.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.uvp.entity.Task;
+import com.uvp.projection.VerifiedVolunteerProjection;
+import com.uvp.repository.SubmissionRepository;
+import com.uvp.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CertificateBatchService {
+
+    private final TaskRepository taskRepository;
+    private final SubmissionRepository submissionRepository;
+    private final CertificateService certificateService;
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idBlockAllocator;
+
+    // Rendering is CPU bound, so one worker per core
+    private final ForkJoinPool renderPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final Map<String, BatchProgress> batches = new ConcurrentHashMap<>();
+
+    // Issues certificates for every fully verified volunteer of the task and returns a handle to poll
+    public BatchProgress startBatch(Integer orgId, Integer taskId) {
+        Task task = taskRepository.findWithOrganizationById(taskId)
+                .filter(t -> t.getOrganizationHome().getOrgId().equals(orgId))
+                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + taskId));
+
+        // a second click while the batch is still running gets the same handle
+        for (BatchProgress running : batches.values()) {
+            if (running.getTaskId().equals(taskId) && running.getState() == BatchState.RUNNING) {
+                return running;
+            }
+        }
+        evictFinishedBatches();
+
+        List<VerifiedVolunteerProjection> volunteers = submissionRepository.findUncertifiedVolunteers(taskId);
+        BatchProgress progress = new BatchProgress(UUID.randomUUID().toString(), orgId, taskId, volunteers.size());
+        batches.put(progress.getBatchId(), progress);
+
+        CompletableFuture.runAsync(() -> issue(task, volunteers, progress), renderPool)
+                .exceptionally(e -> {
+                    log.error("Certificate batch {} for task {} failed", progress.getBatchId(), taskId, e);
+                    progress.finish(BatchState.FAILED);
+                    return null;
+                });
+        return progress;
+    }
+
+    // Batches live in this node's memory only: another node, or this one after a restart, answers 404
+    public BatchProgress getBatch(Integer orgId, String batchId) {
+        BatchProgress progress = batches.get(batchId);
+        if (progress == null || !progress.getOrgId().equals(orgId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Certificate batch not found: " + batchId);
+        }
+        return progress;
+    }
+
+    private void issue(Task task, List<VerifiedVolunteerProjection> volunteers, BatchProgress progress) {
+        LocalDate issueDate = LocalDate.now();
+        String organizationName = task.getOrganizationHome().getName();
+        Queue<Object[]> rows = new ConcurrentLinkedQueue<>();
+
+        // 1. Render the PDFs in parallel; called from inside renderPool, so the stream forks into it
+        volunteers.parallelStream().forEach(volunteer -> {
+            try {
+                String qrPayload = certificateService.writeCertificatePdf(volunteer.getUserId(), volunteer.getName(),
+                        task.getTaskId(), task.getTitle(), organizationName, issueDate);
+                rows.add(new Object[]{volunteer.getUserId(), task.getTaskId(), Date.valueOf(issueDate), qrPayload});
+                progress.rendered.incrementAndGet();
+            } catch (Exception e) {
+                log.warn("Certificate batch {}: could not render the certificate of user {} for task {}",
+                        progress.getBatchId(), volunteer.getUserId(), task.getTaskId(), e);
+                progress.failed.incrementAndGet();
+            }
+        });
+
+        // 2. Persist every rendered certificate with a single JDBC batch, ids reserved in one block.
+        // UX_Certificate_Task_User skips volunteers certified since the batch started (an approval, another batch).
+        if (!rows.isEmpty()) {
+            IdBlockAllocator.Block block = idBlockAllocator.allocate("Certificate", rows.size());
+            long id = block.first();
+            List<Object[]> inserts = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                inserts.add(new Object[]{Math.toIntExact(id++), row[0], row[1], row[2], row[3]});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO Certificate (CertificateId, UserId, TaskId, IssueDate, QRCode, Block, Status) " +
+                            "VALUES (?, ?, ?, ?, ?, false, 'ISSUED')",
+                    inserts);
+
+            // rewritten batches do not report per-row counts, so read back which ids were kept
+            Set<Integer> issued = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT UserId FROM Certificate WHERE TaskId = ? AND CertificateId BETWEEN ? AND ?",
+                    Integer.class, task.getTaskId(), block.first(), block.last()));
+            for (Object[] row : rows) {
+                if (!issued.contains((Integer) row[0])) {
+                    // the PDF just rendered carries this batch's issue date, not the existing certificate's
+                    try {
+                        certificateService.invalidateCertificatePdf((Integer) row[0], task.getTaskId());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+            progress.issued.set(issued.size());
+        }
+        progress.finish(BatchState.COMPLETED);
+    }
+
+    private void evictFinishedBatches() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
+        batches.values().removeIf(b -> b.getFinishedAt() != null && b.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdown();
+    }
+
+    public enum BatchState {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Getter
+    public static class BatchProgress {
+        private final String batchId;
+        @JsonIgnore
+        private final Integer orgId;
+        private final Integer taskId;
+        private final int total;
+        private final AtomicInteger rendered = new AtomicInteger();
+        private final AtomicInteger issued = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile BatchState state = BatchState.RUNNING;
+
+        BatchProgress(String batchId, Integer orgId, Integer taskId, int total) {
+            this.batchId = batchId;
+            this.orgId = orgId;
+            this.taskId = taskId;
+            this.total = total;
+        }
+
+        void finish(BatchState state) {
+            this.finishedAt = LocalDateTime.now();
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.uvp.service;
+
+import com.uvp.entity.CertificateJob;
+import com.uvp.repository.CertificateJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CertificateJobService {
+
+    private final CertificateJobRepository jobRepository;
+    private final CertificateService certificateService;
+    private final ThreadPoolTaskExecutor certificateExecutor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${certificate.jobs.workers:2}")
+    private int workers;
+
+    @Value("${certificate.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${certificate.jobs.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    @Value("${certificate.jobs.lease-minutes:10}")
+    private long leaseMinutes;
+
+    @Scheduled(fixedDelayString = "${certificate.jobs.poll-interval-ms:2000}")
+    public void poll() {
+        // LockedAt is the lease token compared in finish(), so keep it at the column's precision
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        jobRepository.releaseStale(now.minusMinutes(leaseMinutes));
+
+        // only take as many jobs as there are idle workers, the rest stay queued in the table
+        int free = workers - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+
+        for (Integer jobId : jobRepository.findDueJobIds(now, Limit.of(free))) {
+            if (jobRepository.claim(jobId, now) == 1) {
+                inFlight.incrementAndGet();
+                certificateExecutor.execute(() -> {
+                    try {
+                        run(jobId, now);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private void run(Integer jobId, LocalDateTime lockedAt) {
+        CertificateJob job = jobRepository.findById(jobId).orElseThrow();
+        Integer certificateId = job.getCertificate().getCertificateId();
+
+        CertificateJob.JobStatus status;
+        LocalDateTime nextAttemptAt = job.getNextAttemptAt();
+        String lastError = null;
+        try {
+            certificateService.renderCertificate(certificateId);
+            status = CertificateJob.JobStatus.DONE;
+        } catch (Exception e) {
+            lastError = truncate(e.toString());
+            if (job.getAttempts() >= maxAttempts) {
+                status = CertificateJob.JobStatus.FAILED;
+            } else {
+                // exponential backoff: 30s, 60s, 120s, ...
+                status = CertificateJob.JobStatus.PENDING;
+                nextAttemptAt = LocalDateTime.now().plusSeconds(retryBackoffSeconds << (job.getAttempts() - 1));
+            }
+        }
+
+        if (jobRepository.finish(jobId, lockedAt, status, nextAttemptAt, lastError) == 0) {
+            log.warn("Certificate job {} outlived its lease; its {} result is dropped", jobId, status);
+            return;
+        }
+        if (status == CertificateJob.JobStatus.FAILED) {
+            certificateService.markFailed(certificateId);
+        }
+    }
+
+    private String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,86 @@
+package com.uvp.service;
+
+import com.uvp.storage.DiskCache;
+import com.uvp.storage.ObjectStorage;
+import com.uvp.storage.OpenFile;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+
+// Size-bounded on-disk LRU of rendered certificate PDFs. PDFs are derived from the Certificate row,
+// so a miss (evicted file, fresh node) simply renders again; concurrent misses share one render.
+// With shared object storage a miss first looks for a PDF another node already rendered.
+@Component
+@RequiredArgsConstructor
+public class CertificatePdfCache {
+
+    private static final String KEY_PREFIX = "certificates/";
+
+    private final ObjectStorage storage;
+
+    @Value("${certificate.cache.dir:uploads/certificates}")
+    private String cacheDir;
+
+    @Value("${certificate.cache.max-bytes:536870912}")
+    private long maxBytes;
+
+    private DiskCache cache;
+
+    @FunctionalInterface
+    public interface PdfWriter {
+        void write(OutputStream os) throws Exception;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        cache = new DiskCache(Paths.get(cacheDir), maxBytes);
+    }
+
+    // Renders the PDF into the cache unless it is there already
+    public void render(String fileName, PdfWriter writer) throws Exception {
+        open(fileName, writer).close();
+    }
+
+    // The cached PDF, rendered on a miss; the caller closes it
+    public OpenFile open(String fileName, PdfWriter writer) throws Exception {
+        if (!storage.isShared()) {
+            return cache.open(fileName, writer::write);
+        }
+
+        boolean[] rendered = {false};
+        OpenFile file = cache.open(fileName, os -> {
+            try (InputStream in = storage.get(KEY_PREFIX + fileName)) {
+                in.transferTo(os);
+            } catch (NoSuchFileException e) {
+                writer.write(os);
+                rendered[0] = true;
+            }
+        });
+        if (rendered[0]) {
+            // published from the open channel: the cached name may already have been evicted
+            try {
+                storage.put(KEY_PREFIX + fileName, Channels.newInputStream(file.channel()), file.size(),
+                        "application/pdf");
+            } catch (IOException | RuntimeException e) {
+                file.close();
+                throw e;
+            }
+        }
+        return file;
+    }
+
+    public void invalidate(String fileName) throws IOException {
+        cache.invalidate(fileName);
+        if (storage.isShared()) {
+            storage.delete(KEY_PREFIX + fileName);
+        }
+    }
+}
@@ -1,24 +1,22 @@
 package com.uvp.service;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 import com.uvp.projection.AdminCertificateProjection;
+import com.uvp.storage.OpenFile;
 import com.uvp.utility.CertificateGenerator;
+import com.uvp.utility.QrCodeGenerator;
 
 import com.uvp.entity.Certificate;
+import com.uvp.entity.CertificateJob;
 import com.uvp.entity.Task;
 import com.uvp.entity.User;
 import com.uvp.projection.CertificateProjection;
+import com.uvp.repository.CertificateJobRepository;
 import com.uvp.repository.CertificateRepository;
-import com.uvp.repository.TaskRepository;
-import com.uvp.repository.UserRepository;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import lombok.RequiredArgsConstructor;
 
 import java.io.*;
@@ -26,83 +24,150 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.time.LocalDate;
-import java.util.Base64;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class CertificateService {
 
     private final CertificateRepository certificateRepository;
-    private final UserRepository userRepository;
-    private final TaskRepository taskRepository;
+    private final CertificateJobRepository certificateJobRepository;
+    private final CertificatePdfCache pdfCache;
+    private final IdBlockAllocator idBlockAllocator;
+
+    // LRU of rendered QR PNGs by payload (a 200px QR is well under 1 KB)
+    private final Map<String, byte[]> qrCodeCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                    return size() > QR_CACHE_SIZE;
+                }
+            });
+    private static final int QR_CACHE_SIZE = 2048;
+
+    private static volatile String serverIp;
+
+    // Records the certificate as PENDING and queues its rendering for CertificateJobService,
+    // so approving a submission does not wait for the QR code, the PDF and the disk write.
+    // Returns false when the volunteer already has a certificate for the task.
+    @Transactional
+    public boolean requestCertificate(Integer userId, Integer taskId) {
+        // the ids come from an existing application, so the only row INSERT IGNORE can skip is a duplicate
+        int certificateId = Math.toIntExact(idBlockAllocator.allocate("Certificate", 1).first());
+        if (certificateRepository.insertPendingIfAbsent(certificateId, userId, taskId) == 0) {
+            return false;
+        }
 
-    public boolean issueCertificate(Integer userId, Integer taskId) throws Exception {
+        certificateJobRepository.save(CertificateJob.builder()
+                .certificate(certificateRepository.getReferenceById(certificateId))
+                .build());
+        return true;
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Runs on a certificate worker thread; safe to repeat if a previous attempt died half way
+    public void renderCertificate(Integer certificateId) throws Exception {
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+        Certificate cert = certificateRepository.findWithDetailsById(certificateId)
+                .orElseThrow(() -> new RuntimeException("Certificate not found with ID: " + certificateId));
+        User user = cert.getUser();
+        Task task = cert.getTask();
+        LocalDate issueDate = cert.getIssueDate() != null ? cert.getIssueDate() : LocalDate.now();
 
-        // 1. Define file path for certificate PDF
-        String fileName = "certificate_" + userId + "_" + taskId + ".pdf";
-        String uploadDir = "uploads/certificates/";
-        File dir = new File(uploadDir);
-        if (!dir.exists()) {
-            dir.mkdirs();
-        }
-        String filePath = uploadDir + fileName;
-
-        // 2. Generate QR code that points to certificate download URL
-        // Example URL: http://server/api/certificates/download/{userId}/{taskId}
-        // Example URL:
-        // http://{dynamic_ip}:8080/api/certificates/download/{userId}/{taskId}
-        String certUrl = "http://" + getServerIp() + ":8080/api/volunteer/certificates/download/" + userId + "/"
-                + taskId;
-        String qrBase64 = generateQRCode(certUrl);
-
-        // 3. Create PDF with QR Code embedded
-        CertificateGenerator.createCertificate(user.getName(), task.getTitle(), task.getOrganizationHome().getName(),
-                filePath, qrBase64);
-
-        // 4. Save certificate entity (we only store qrBase64 + metadata, not filePath)
-        Certificate cert = Certificate.builder()
-                .user(user)
-                .task(task)
-                .issueDate(LocalDate.now())
-                .qrCode(qrBase64) // base64 QR image (frontend can render it)
-                .build();
+        String qrPayload = writeCertificatePdf(user.getUserId(), user.getName(), task.getTaskId(), task.getTitle(),
+                task.getOrganizationHome().getName(), issueDate);
 
+        // Mark the certificate issued (we only store the QR payload + metadata, not filePath)
+        cert.setIssueDate(issueDate);
+        cert.setQrCode(qrPayload); // verification URL, the image is served by getQrCodePng
+        cert.setStatus(Certificate.CertificateStatus.ISSUED);
         certificateRepository.save(cert);
-        return true;
     }
 
-    public List<CertificateProjection> getCertificatesByUser(Integer userId) {
-        return certificateRepository.findCertificatesByUserId(userId);
+    // Renders the PDF into the certificate cache and returns the QR payload (verification URL) embedded in it
+    public String writeCertificatePdf(Integer userId, String userName, Integer taskId, String taskTitle,
+            String organizationName, LocalDate issueDate) throws Exception {
+        String certUrl = verificationUrl(userId, taskId);
+        pdfCache.render(fileName(userId, taskId),
+                os -> writePdf(userName, taskTitle, organizationName, issueDate, certUrl, os));
+        return certUrl;
     }
 
-    public Resource downloadCertificate(Integer userId, Integer taskId) throws IOException {
-        String filePath = "uploads/certificates/certificate_" + userId + "_" + taskId + ".pdf";
-        File file = new File(filePath);
+    // Drops a PDF that does not match the stored row; the next download renders it again
+    public void invalidateCertificatePdf(Integer userId, Integer taskId) throws IOException {
+        pdfCache.invalidate(fileName(userId, taskId));
+    }
 
-        if (!file.exists()) {
-            throw new RuntimeException("Certificate not found for userId=" + userId + ", taskId=" + taskId);
-        }
+    // The PDF is a pure function of the Certificate row, so it can be rebuilt on any node at any time
+    private void writePdf(String userName, String taskTitle, String organizationName, LocalDate issueDate,
+            String qrPayload, OutputStream os) throws Exception {
+        String qrBase64 = QrCodeGenerator.toBase64Png(qrPayload);
+        CertificateGenerator.createCertificate(userName, taskTitle, organizationName, issueDate, qrBase64, os);
+    }
 
-        return new InputStreamResource(new FileInputStream(file));
+    private String fileName(Integer userId, Integer taskId) {
+        return "certificate_" + userId + "_" + taskId + ".pdf";
     }
 
-    // 🔹 QR Code generator (Base64 string for storing in DB)
-    private String generateQRCode(String text) throws WriterException, IOException {
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(text, BarcodeFormat.QR_CODE, 200, 200);
+    // Example URL:
+    // http://{dynamic_ip}:8080/api/volunteer/certificates/download/{userId}/{taskId}
+    private String verificationUrl(Integer userId, Integer taskId) {
+        return verificationUrlPrefix() + userId + "/" + taskId;
+    }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", baos);
+    // Also the prefix V8 gave certificates from before the QR payload was stored (see CertificateConfig)
+    public static String verificationUrlPrefix() {
+        return "http://" + serverIp() + ":8080/api/volunteer/certificates/download/";
+    }
 
-        return Base64.getEncoder().encodeToString(baos.toByteArray());
+    // The verification URL a certificate's QR encodes. It names the server, so the image is revalidated
+    // by clients rather than cached as immutable.
+    public String getQrPayload(Integer certificateId) {
+        return certificateRepository.findQrCodeById(certificateId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Certificate not found with ID: " + certificateId));
+    }
+
+    // QR images are rendered on demand from the payload
+    public byte[] getQrCodePng(String payload) throws Exception {
+        byte[] png = qrCodeCache.get(payload);
+        if (png == null) {
+            png = QrCodeGenerator.toPng(payload);
+            qrCodeCache.put(payload, png);
+        }
+        return png;
+    }
+
+    public void markFailed(Integer certificateId) {
+        Certificate cert = certificateRepository.findById(certificateId)
+                .orElseThrow(() -> new RuntimeException("Certificate not found with ID: " + certificateId));
+        cert.setStatus(Certificate.CertificateStatus.FAILED);
+        certificateRepository.save(cert);
+    }
+
+    public List<CertificateProjection> getCertificatesByUser(Integer userId) {
+        return certificateRepository.findCertificatesByUserId(userId);
+    }
+
+    // Opened from the PDF cache (the caller closes it); a miss re-renders the certificate from its row
+    public OpenFile openCertificateFile(Integer userId, Integer taskId) throws Exception {
+        return pdfCache.open(fileName(userId, taskId), os -> {
+            Certificate cert = certificateRepository.findWithDetailsByUserIdAndTaskId(userId, taskId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                            "Certificate not found for userId=" + userId + ", taskId=" + taskId));
+            // requested but not rendered yet (or rendering gave up): there is nothing to download
+            if (cert.getStatus() != Certificate.CertificateStatus.ISSUED) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Certificate for userId=" + userId + ", taskId=" + taskId + " is " + cert.getStatus());
+            }
+            Task task = cert.getTask();
+            String qrPayload = cert.getQrCode() != null ? cert.getQrCode() : verificationUrl(userId, taskId);
+            writePdf(cert.getUser().getName(), task.getTitle(), task.getOrganizationHome().getName(),
+                    cert.getIssueDate(), qrPayload, os);
+        });
     }
 
     public List<AdminCertificateProjection> getAllCertificates() {
@@ -118,7 +183,14 @@ public class CertificateService {
         return "Changes applied succesfully";
     }
 
-    private String getServerIp() {
+    private static String serverIp() {
+        if (serverIp == null) {
+            serverIp = getServerIp();
+        }
+        return serverIp;
+    }
+
+    private static String getServerIp() {
         String fallbackIp = null;
         try {
             Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
@@ -0,0 +1,108 @@
+package com.uvp.service;
+
+import com.uvp.entity.DashboardCounter;
+import com.uvp.entity.Task;
+import com.uvp.repository.DashboardCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Admin dashboard figures as counters in the DashboardCounter table instead of count(*) over whole tables.
+// Writers bump them inside their own transaction (MANDATORY makes forgetting that an error), so a counter
+// only moves when the row change commits. reconcile() periodically corrects any drift against the real counts.
+// A counter row is always locked before the rows it counts: writers bump it before their insert or update
+// reaches the database (Task ids come from blocks, so that insert waits for the flush), and the recount
+// locks the counter row before it scans.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardCounterService {
+
+    public static final String USERS = "users";
+    public static final String ORGANIZATIONS = "organizations";
+    public static final String TASKS = "tasks";
+
+    private final DashboardCounterRepository counterRepository;
+
+    private static String tasksWithStatus(Task.TaskStatus status) {
+        return TASKS + "." + status.name();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userRegistered() {
+        counterRepository.add(USERS, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void organizationRegistered() {
+        counterRepository.add(ORGANIZATIONS, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskCreated(Task.TaskStatus status) {
+        counterRepository.add(TASKS, 1);
+        counterRepository.add(tasksWithStatus(status), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskStatusChanged(Task.TaskStatus from, Task.TaskStatus to) {
+        if (from == to) {
+            return;
+        }
+        counterRepository.add(tasksWithStatus(from), -1);
+        counterRepository.add(tasksWithStatus(to), 1);
+    }
+
+    // Same keys the dashboard always had, read from a handful of primary-key rows
+    public Map<String, Long> getDashboardStats() {
+        Map<String, Long> counters = values();
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("totalUsers", counters.getOrDefault(USERS, 0L));
+        stats.put("totalOrganizations", counters.getOrDefault(ORGANIZATIONS, 0L));
+        stats.put("totalTasks", counters.getOrDefault(TASKS, 0L));
+        stats.put("closedTasks", counters.getOrDefault(tasksWithStatus(Task.TaskStatus.CLOSED), 0L));
+        stats.put("completedTasks", counters.getOrDefault(tasksWithStatus(Task.TaskStatus.COMPLETED), 0L));
+        return stats;
+    }
+
+    // The counts the counters replace; only run here, off the request path
+    @Scheduled(initialDelayString = "${dashboard.counters.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${dashboard.counters.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        List<String> names = new ArrayList<>(List.of(USERS, ORGANIZATIONS, TASKS));
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            names.add(tasksWithStatus(status));
+        }
+        names.forEach(counterRepository::insertMissing);
+
+        Map<String, Long> before = values();
+        counterRepository.recountUsers(USERS);
+        counterRepository.recountOrganizations(ORGANIZATIONS);
+        counterRepository.recountTasks(TASKS);
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            counterRepository.recountTasksWithStatus(tasksWithStatus(status), status.name());
+        }
+        // a writer committing between the two reads shows up here too, so this is a hint, not proof of drift
+        values().forEach((name, value) -> {
+            if (!value.equals(before.get(name))) {
+                log.info("Dashboard counter {} recounted: {} -> {}", name, before.get(name), value);
+            }
+        });
+    }
+
+    private Map<String, Long> values() {
+        Map<String, Long> values = new HashMap<>();
+        for (DashboardCounter counter : counterRepository.findAll()) {
+            values.put(counter.getName(), counter.getValue());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,59 @@
+package com.uvp.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+// Reserves blocks of ids from the IdSequence table (V6). Runs on its own two-connection pool in autocommit:
+// a block is reserved while the caller's transaction holds a connection and row locks, and waiting on the
+// main pool there could deadlock once every connection belongs to a transaction waiting for ids.
+@Service
+public class IdBlockAllocator {
+
+    // Ids first..last (inclusive) belong to the caller alone
+    public record Block(long first, long last) {
+    }
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdBlockAllocator(DataSourceProperties properties) {
+        dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("id-allocator");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setMinimumIdle(0);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // One UPDATE: the row lock lasts a single statement, and LAST_INSERT_ID(expr) returns the new
+    // LastId on this connection without reading the row again
+    public Block allocate(String sequence, int size) {
+        long last = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE IdSequence SET LastId = LAST_INSERT_ID(LastId + ?) WHERE SequenceName = ?")) {
+                update.setInt(1, size);
+                update.setString(2, sequence);
+                if (update.executeUpdate() == 0) {
+                    throw new IllegalStateException("No IdSequence row for " + sequence);
+                }
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT LAST_INSERT_ID()");
+                 ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+        return new Block(last - size + 1, last);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,272 @@
+package com.uvp.service;
+
+import com.uvp.repository.SubmissionRepository;
+import com.uvp.repository.TaskRepository;
+import com.uvp.storage.ObjectStorage;
+import com.uvp.storage.OpenFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+// Generates a thumbnail (list cards) and a medium rendition (detail pages) of every uploaded image
+// on the bounded imageExecutor. Renditions are plain re-encoded JPEGs, so EXIF and other metadata
+// are dropped. Until they exist the projections fall back to the original upload.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageDerivativeService {
+
+    // formats the JDK's ImageIO can decode; anything else (AVIF, HEIC, PDF...) keeps only the original
+    private static final Set<String> DECODABLE = Set.of("png", "jpg", "jpeg", "gif", "bmp", "wbmp", "tif", "tiff");
+
+    private final ObjectStorage storage;
+    private final TaskRepository taskRepository;
+    private final SubmissionRepository submissionRepository;
+    private final ThreadPoolTaskExecutor imageExecutor;
+
+    @Value("${images.derivatives.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    @Value("${images.derivatives.medium-size:1024}")
+    private int mediumSize;
+
+    @Value("${images.derivatives.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    // images the full queue turned away since the last backfill; the retry backfill finds them by their null columns
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicBoolean backfilling = new AtomicBoolean();
+
+    private record Derivatives(String thumbnail, String medium) {
+    }
+
+    public long getDiscardedCount() {
+        return discarded.get();
+    }
+
+    public void generateForTask(String imagePath) {
+        submit(imagePath, (thumbnail, medium) -> taskRepository.setImageDerivatives(imagePath, thumbnail, medium));
+    }
+
+    public void generateForProof(String proofPath) {
+        submit(proofPath, (thumbnail, medium) -> submissionRepository.setProofDerivatives(proofPath, thumbnail, medium));
+    }
+
+    // Images uploaded before this pipeline existed, one at a time so the queue is left for new uploads
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            imageExecutor.execute(() -> {
+                try {
+                    for (String path : taskRepository.findImagesWithoutDerivatives()) {
+                        generate(path, (thumbnail, medium) -> taskRepository.setImageDerivatives(path, thumbnail, medium));
+                    }
+                    for (String path : submissionRepository.findProofsWithoutDerivatives()) {
+                        generate(path, (thumbnail, medium) -> submissionRepository.setProofDerivatives(path, thumbnail, medium));
+                    }
+                } finally {
+                    backfilling.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            backfilling.set(false);
+            discarded.incrementAndGet();
+            log.warn("Image rendition backfill rejected, queue is full; retrying later");
+        }
+    }
+
+    // Re-runs the backfill once images were turned away; while one is still queued or running the count waits,
+    // since that run may have listed the missing renditions before the rejected images were saved
+    @Scheduled(initialDelayString = "${images.derivatives.retry-interval-ms:300000}",
+            fixedDelayString = "${images.derivatives.retry-interval-ms:300000}")
+    public void retryDiscarded() {
+        if (discarded.get() == 0 || backfilling.get()) {
+            return;
+        }
+        log.info("Retrying image renditions after {} rejected submissions", discarded.getAndSet(0));
+        backfill();
+    }
+
+    private void submit(String path, BiConsumer<String, String> apply) {
+        if (!isDecodable(path)) {
+            return;
+        }
+        try {
+            imageExecutor.execute(() -> generate(path, apply));
+        } catch (TaskRejectedException e) {
+            discarded.incrementAndGet();
+            log.warn("Image rendition queue is full, deferring {} to the backfill", path);
+        }
+    }
+
+    private void generate(String path, BiConsumer<String, String> apply) {
+        if (!isDecodable(path)) {
+            return;
+        }
+        try {
+            Derivatives derivatives = ensureDerivatives(path);
+            if (derivatives != null) {
+                apply.accept(derivatives.thumbnail(), derivatives.medium());
+            }
+        } catch (Exception e) {
+            log.warn("Could not create image renditions for {}", path, e);
+        }
+    }
+
+    // Renditions are named after the content-addressed original, so identical uploads share them
+    private Derivatives ensureDerivatives(String path) throws IOException {
+        String thumbnailPath = BlobStore.derivativePath(path, "thumb");
+        String mediumPath = BlobStore.derivativePath(path, "medium");
+        if (storage.exists(BlobStore.storageKey(thumbnailPath)) && storage.exists(BlobStore.storageKey(mediumPath))) {
+            return new Derivatives(thumbnailPath, mediumPath);
+        }
+
+        BufferedImage source = read(BlobStore.storageKey(path));
+        if (source == null) {
+            return null;
+        }
+        BufferedImage medium = fit(toRgb(source), mediumSize);
+        put(BlobStore.storageKey(mediumPath), medium);
+        put(BlobStore.storageKey(thumbnailPath), fit(medium, thumbnailSize));
+        return new Derivatives(thumbnailPath, mediumPath);
+    }
+
+    // Decodes with subsampling so a 6000px photo is never fully expanded in memory
+    private BufferedImage read(String key) throws IOException {
+        Optional<OpenFile> local = storage.openLocal(key);
+        if (local.isPresent()) {
+            try (OpenFile file = local.get()) {
+                // by path where the name is stable, else from the channel (a cache entry may be evicted meanwhile)
+                return decode(file.path() != null
+                        ? ImageIO.createImageInputStream(file.path().toFile())
+                        : new MemoryCacheImageInputStream(Channels.newInputStream(file.channel())));
+            }
+        }
+        try (InputStream in = storage.get(key)) {
+            return decode(ImageIO.createImageInputStream(in));
+        }
+    }
+
+    private BufferedImage decode(ImageInputStream input) throws IOException {
+        if (input == null) {
+            return null;
+        }
+        try (ImageInputStream iis = input) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true); // ignore metadata, we never copy it over
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longest / (2 * mediumSize));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // JPEG has no alpha: flatten onto white
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    // Scales down to fit a box x box square (never up), halving first so bilinear stays sharp
+    private static BufferedImage fit(BufferedImage image, int box) {
+        double ratio = Math.min(1.0, (double) box / Math.max(image.getWidth(), image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        int width = image.getWidth(), height = image.getHeight();
+        while (width / 2 >= targetWidth && height / 2 >= targetHeight) {
+            width /= 2;
+            height /= 2;
+            image = resize(image, width, height);
+        }
+        if (width != targetWidth || height != targetHeight) {
+            image = resize(image, targetWidth, targetHeight);
+        }
+        return image;
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private void put(String key, BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param); // no metadata
+        } finally {
+            writer.dispose();
+        }
+        storage.put(key, new ByteArrayInputStream(bytes.toByteArray()), bytes.size(), "image/jpeg");
+    }
+
+    private static boolean isDecodable(String path) {
+        return path != null && path.startsWith(BlobStore.ROOT) && DECODABLE.contains(BlobStore.extension(path));
+    }
+}
@@ -0,0 +1,168 @@
+package com.uvp.service;
+
+import com.uvp.entity.Application;
+import com.uvp.entity.OrganizationSummary;
+import com.uvp.projection.PendingApplicationProjection;
+import com.uvp.projection.TaskFillProjection;
+import com.uvp.repository.ApplicationRepository;
+import com.uvp.repository.OrganizationSummaryRepository;
+import com.uvp.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Read model behind the organization dashboard: one OrganizationSummary row of counts per org, Task.FilledSeats
+// for the fill rate of each task, and a short cached list of the newest pending applications.
+// Writers report changes inside their own transaction (MANDATORY), so the counts move with the rows;
+// reconcile() periodically recounts everything to repair drift.
+@Service
+@RequiredArgsConstructor
+public class OrganizationSummaryService {
+
+    private final OrganizationSummaryRepository summaryRepository;
+    private final ApplicationRepository applicationRepository;
+    private final TaskRepository taskRepository;
+
+    @Value("${organization.summary.pending-items:5}")
+    private int pendingItems;
+
+    @Value("${organization.summary.pending-cache-ttl:PT30S}")
+    private Duration pendingCacheTtl;
+
+    public record Dashboard(long pendingApplications,
+                            long approvedApplications,
+                            long rejectedApplications,
+                            long submissionsInReview,
+                            long submissionsApproved,
+                            List<PendingApplicationProjection> latestPending,
+                            List<TaskFillProjection> openTasks) {
+    }
+
+    private record CachedPending(List<PendingApplicationProjection> items, long loadedAt) {
+    }
+
+    // orgId -> newest pending applications; dropped after commit of any application change of that org
+    private final Map<Integer, CachedPending> pendingCache = new ConcurrentHashMap<>();
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void organizationRegistered(Integer orgId) {
+        summaryRepository.save(new OrganizationSummary(orgId, 0L, 0L, 0L, 0L, 0L));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applicationCreated(Integer orgId, Application.ApplicationStatus status) {
+        adjustApplications(orgId, status, 1);
+        invalidatePendingAfterCommit(orgId);
+    }
+
+    // Applications of one task moved to a new status; movedFrom counts them by the status they left
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applicationsReviewed(Integer orgId, Integer taskId,
+                                     Map<Application.ApplicationStatus, Integer> movedFrom,
+                                     Application.ApplicationStatus to) {
+        Map<Application.ApplicationStatus, Integer> delta = new EnumMap<>(Application.ApplicationStatus.class);
+        movedFrom.forEach((from, count) -> {
+            if (from != to) {
+                delta.merge(from, -count, Integer::sum);
+                delta.merge(to, count, Integer::sum);
+            }
+        });
+        if (delta.isEmpty()) {
+            return;
+        }
+        // Task row before the summary row, the order applying locks them in (no deadlock between the two)
+        int filled = delta.getOrDefault(Application.ApplicationStatus.APPROVED, 0);
+        if (filled != 0) {
+            taskRepository.addFilledSeats(taskId, filled);
+        }
+        summaryRepository.adjustApplications(orgId,
+                delta.getOrDefault(Application.ApplicationStatus.PENDING, 0),
+                filled,
+                delta.getOrDefault(Application.ApplicationStatus.REJECTED, 0));
+        invalidatePendingAfterCommit(orgId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applicationRemoved(Integer orgId, Integer taskId, Application.ApplicationStatus status) {
+        if (status == Application.ApplicationStatus.APPROVED) {
+            taskRepository.addFilledSeats(taskId, -1);
+        }
+        adjustApplications(orgId, status, -1);
+        invalidatePendingAfterCommit(orgId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void submissionCreated(Integer orgId) {
+        summaryRepository.adjustSubmissions(orgId, 1, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void submissionApprovedByOrg(Integer orgId) {
+        summaryRepository.adjustSubmissions(orgId, -1, 1);
+    }
+
+    private void adjustApplications(Integer orgId, Application.ApplicationStatus status, int delta) {
+        switch (status) {
+            case PENDING -> summaryRepository.adjustApplications(orgId, delta, 0, 0);
+            case APPROVED -> summaryRepository.adjustApplications(orgId, 0, delta, 0);
+            case REJECTED -> summaryRepository.adjustApplications(orgId, 0, 0, delta);
+        }
+    }
+
+    private void invalidatePendingAfterCommit(Integer orgId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pendingCache.remove(orgId);
+            }
+        });
+    }
+
+    // One primary-key read, one single-table read of the org's open tasks and a (usually cached) short list
+    public Dashboard getDashboard(Integer orgId) {
+        OrganizationSummary summary = summaryRepository.findById(orgId)
+                .orElseGet(() -> new OrganizationSummary(orgId, 0L, 0L, 0L, 0L, 0L));
+        return new Dashboard(summary.getPendingApplications(),
+                summary.getApprovedApplications(),
+                summary.getRejectedApplications(),
+                summary.getSubmissionsInReview(),
+                summary.getSubmissionsApproved(),
+                latestPending(orgId),
+                taskRepository.findOpenTaskFill(orgId));
+    }
+
+    // The TTL bounds staleness on other nodes, which never see this node's invalidations
+    private List<PendingApplicationProjection> latestPending(Integer orgId) {
+        long now = System.currentTimeMillis();
+        CachedPending cached = pendingCache.get(orgId);
+        if (cached != null && now - cached.loadedAt() < pendingCacheTtl.toMillis()) {
+            return cached.items();
+        }
+        List<PendingApplicationProjection> items = applicationRepository.findPendingApplicationsByOrgId(
+                orgId, Application.ApplicationStatus.PENDING, Limit.of(pendingItems));
+        pendingCache.put(orgId, new CachedPending(items, now));
+        return items;
+    }
+
+    @Transactional
+    @Scheduled(initialDelayString = "${organization.summary.reconcile-initial-delay-ms:120000}",
+            fixedDelayString = "${organization.summary.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        summaryRepository.insertMissing();
+        summaryRepository.recount();
+        taskRepository.recountFilledSeats();
+        pendingCache.clear();
+    }
+}
@@ -0,0 +1,77 @@
+package com.uvp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// SQL statements per request, per endpoint, since startup (see QueryCountFilter)
+@Slf4j
+@Service
+public class QueryStatsService {
+
+    private record EndpointStats(LongAdder requests, LongAdder statements, AtomicLong max,
+                                 AtomicLong lastWarnedAt, LongAdder unwarned) {
+    }
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    // a request sending more statements than this is logged, usually an N+1
+    @Value("${query-count.warn-threshold:25}")
+    private int warnThreshold;
+
+    // a hot endpoint over the threshold would otherwise log on every request
+    @Value("${query-count.warn-interval-ms:60000}")
+    private long warnIntervalMs;
+
+    public void record(String endpoint, int statements) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint,
+                e -> new EndpointStats(new LongAdder(), new LongAdder(), new AtomicLong(),
+                        new AtomicLong(Long.MIN_VALUE), new LongAdder()));
+        stats.requests().increment();
+        stats.statements().add(statements);
+        stats.max().accumulateAndGet(statements, Math::max);
+        if (statements > warnThreshold) {
+            warn(endpoint, stats, statements);
+        }
+    }
+
+    private void warn(String endpoint, EndpointStats stats, int statements) {
+        long now = System.currentTimeMillis();
+        long last = stats.lastWarnedAt().get();
+        if (last != Long.MIN_VALUE && now - last < warnIntervalMs || !stats.lastWarnedAt().compareAndSet(last, now)) {
+            stats.unwarned().increment();
+            return;
+        }
+        long suppressed = stats.unwarned().sumThenReset();
+        log.warn("Query count: {} sent {} SQL statements ({} more requests over {} since the last warning)",
+                endpoint, statements, suppressed, warnThreshold);
+    }
+
+    // Heaviest endpoints (by average statements per request) first
+    public Map<String, Map<String, Object>> getQueryStats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        endpoints.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, EndpointStats> e) -> average(e.getValue())).reversed())
+                .forEach(e -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("requests", e.getValue().requests().sum());
+                    row.put("statements", e.getValue().statements().sum());
+                    row.put("avgPerRequest", average(e.getValue()));
+                    row.put("maxPerRequest", e.getValue().max().get());
+                    result.put(e.getKey(), row);
+                });
+        return result;
+    }
+
+    private static double average(EndpointStats stats) {
+        long requests = stats.requests().sum();
+        return requests == 0 ? 0 : (double) stats.statements().sum() / requests;
+    }
+}
@@ -5,22 +5,27 @@ import com.uvp.entity.Submission;
 import com.uvp.entity.User;
 import com.uvp.projection.OrganizationSubmissionProjection;
 import com.uvp.projection.SingleSubmissionProjection;
+import com.uvp.projection.SubmissionInboxItem;
 import com.uvp.projection.SubmissionProjection;
 import com.uvp.repository.ApplicationRepository;
 import com.uvp.repository.CertificateRepository;
+import com.uvp.repository.SubmissionInboxRepository;
 import com.uvp.repository.SubmissionRepository;
 import com.uvp.repository.UserRepository;
+import com.uvp.utility.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -32,43 +37,107 @@ public class SubmissionService {
     private final UserRepository userRepository;
     private final CertificateService certificateService;
     private final CertificateRepository certificate;
+    private final BlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
+    private final OrganizationSummaryService organizationSummaryService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${submissions.inbox.max-page-size:100}")
+    private int maxPageSize;
 
     public Submission submitProof(Integer applicationId, MultipartFile file) throws IOException {
         // Fetch application
-        Application application = applicationRepo.findById(applicationId)
+        Application application = applicationRepo.findWithTaskAndUserById(applicationId)
                 .orElseThrow(() -> new RuntimeException("Application not found"));
 
-        // Create upload folder if not exists
-        String uploadDir = "uploads/submissions/";
+        // Stream the file to disk first, outside the transaction
+        BlobStore.Staged staged = blobStore.stage(file);
+
+        // Save only path in DB; the blob reference is taken with the row (an identical earlier upload is shared, not copied)
+        Submission saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Submission created = submissionRepo.save(Submission.builder()
+                        .application(application)
+                        .proofFile(blobStore.adopt(staged)) // save path, not file
+                        .fileName(UploadStore.originalName(file))
+                        .build());
+                organizationSummaryService.submissionCreated(application.getTask().getOrganizationHome().getOrgId());
+                return created;
+            });
+        } finally {
+            blobStore.discard(staged);
+        }
+        imageDerivativeService.generateForProof(saved.getProofFile()); // thumbnails are made in the background
+        return saved;
+    }
+
+    public List<SubmissionProjection> getSubmissions(int userId) {
 
-        File dir = new File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
+        return submissionRepo.findUserSubmissions(userId);
+    }
 
-        // Store file in server folder
-        String filename = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        Path filepath = Paths.get(uploadDir, filename);
-        Files.write(filepath, file.getBytes());
+    public record InboxPage(List<SubmissionInboxItem> items, String nextCursor, Long total) {
+    }
 
-        // Save only path in DB
-        Submission submission = Submission.builder()
-                .application(application)
-                .proofFile(filepath.toString()) // save path, not file
+    // One page of the review inbox, newest first unless sort=asc. total is only counted when asked for,
+    // it costs a second query over every matching row.
+    public InboxPage getInbox(SubmissionInboxRepository.Audience audience, Integer orgId, String stage, Integer taskId,
+                              LocalDate from, LocalDate to, String sort, String cursor, int size,
+                              boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        KeysetCursor.Position after = KeysetCursor.decode(cursor);
+        SubmissionInboxRepository.Filter filter = SubmissionInboxRepository.Filter.builder()
+                .audience(audience)
+                .orgId(orgId)
+                .stage(parseStage(stage))
+                .taskId(taskId)
+                .from(from)
+                .to(to)
+                .newestFirst(!"asc".equalsIgnoreCase(sort))
+                .afterSubmittedAt(after != null ? after.at() : null)
+                .afterSubmissionId(after != null ? after.id() : null)
                 .build();
 
-        return submissionRepo.save(submission);
+        // one extra row tells whether there is a next page
+        List<SubmissionInboxItem> rows = submissionRepo.findInbox(filter, pageSize + 1);
+        Long total = includeTotal ? submissionRepo.countInbox(filter) : null;
+        if (rows.size() <= pageSize) {
+            return new InboxPage(rows, null, total);
+        }
+        List<SubmissionInboxItem> items = rows.subList(0, pageSize);
+        SubmissionInboxItem last = items.get(pageSize - 1);
+        return new InboxPage(items, KeysetCursor.encode(last.getSubmittedAt(), last.getSubmissionId()), total);
     }
 
-    public List<SubmissionProjection> getSubmissions(int userId) {
+    private static SubmissionInboxRepository.Stage parseStage(String stage) {
+        if (stage == null || stage.isBlank()) {
+            return null;
+        }
+        try {
+            return SubmissionInboxRepository.Stage.valueOf(stage.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown stage: " + stage);
+        }
+    }
 
-        return submissionRepo.findUserSubmissions(userId);
+    // Full lists behind the older screens, same rows and order as before
+    private List<OrganizationSubmissionProjection> list(SubmissionInboxRepository.Audience audience, Integer orgId,
+                                                        SubmissionInboxRepository.Stage stage, boolean newestFirst) {
+        return List.copyOf(submissionRepo.findInbox(SubmissionInboxRepository.Filter.builder()
+                .audience(audience)
+                .orgId(orgId)
+                .stage(stage)
+                .newestFirst(newestFirst)
+                .build(), 0));
     }
 
     public List<OrganizationSubmissionProjection> getApprovedSubmissions(Integer orgId) {
-        return submissionRepo.findApprovedSubmissions(orgId);
+        return list(SubmissionInboxRepository.Audience.ORG, orgId, SubmissionInboxRepository.Stage.ORG_APPROVED, true);
     }
 
     public List<OrganizationSubmissionProjection> getInProcessSubmissions(Integer orgId) {
-        return submissionRepo.findInProcessSubmissions(orgId);
+        return list(SubmissionInboxRepository.Audience.ORG, orgId, SubmissionInboxRepository.Stage.ORG_PENDING, true);
     }
 
     public SingleSubmissionProjection getSubmissionById(Integer id) {
@@ -76,8 +145,13 @@ public class SubmissionService {
 
     }
 
+    @Transactional
     public String updateOrgStatus(Integer submissionId) throws Exception {
-        Submission submission=submissionRepo.findById(submissionId).orElseThrow();
+        Submission submission=submissionRepo.findWithApplicationById(submissionId).orElseThrow();
+        if (!Boolean.TRUE.equals(submission.getVerifiedByOrg())) {
+            organizationSummaryService.submissionApprovedByOrg(
+                    submission.getApplication().getTask().getOrganizationHome().getOrgId());
+        }
         submission.setVerifiedByOrg(true);
         submissionRepo.save(submission);
         Integer userId=submission.getApplication().getUser().getUserId();
@@ -86,17 +160,17 @@ public class SubmissionService {
         boolean adminStatus=submission.getVerifiedByAdmin();
         boolean status=false;
         if(adminStatus){
-            status = certificateService.issueCertificate(userId, taskId);
+            status = certificateService.requestCertificate(userId, taskId);
         }
         return "Updated Successfully with status "+status;
     }
 
     public List<OrganizationSubmissionProjection> getAdminApprovedSubmissions() {
-        return submissionRepo.findByVerifiedByAdmin();
+        return list(SubmissionInboxRepository.Audience.ADMIN, null, SubmissionInboxRepository.Stage.ADMIN_APPROVED, false);
     }
 
     public List<OrganizationSubmissionProjection> getAdminPendingSubmissions() {
-        return submissionRepo.findByNotVerifiedByAdmin();
+        return list(SubmissionInboxRepository.Audience.ADMIN, null, SubmissionInboxRepository.Stage.ADMIN_PENDING, false);
     }
 
     public SingleSubmissionProjection getAdminSubmissionById(Integer id) {
@@ -104,8 +178,9 @@ public class SubmissionService {
 
     }
 
+    @Transactional
     public String updateAdminStatus(Integer submissionId) throws Exception {
-        Submission submission=submissionRepo.findById(submissionId).orElseThrow();
+        Submission submission=submissionRepo.findWithApplicationById(submissionId).orElseThrow();
         submission.setVerifiedByAdmin(true);
         submissionRepo.save(submission);
         Integer userId=submission.getApplication().getUser().getUserId();
@@ -113,7 +188,7 @@ public class SubmissionService {
         boolean orgStatus=submission.getVerifiedByOrg();
         boolean status=false;
         if(orgStatus){
-            status = certificateService.issueCertificate(userId, taskId);
+            status = certificateService.requestCertificate(userId, taskId);
         }
         return "Updated Successfully with status "+status;
     }
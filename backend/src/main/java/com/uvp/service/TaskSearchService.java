@@ -0,0 +1,156 @@
+package com.uvp.service;
+
+import com.uvp.entity.Task;
+import com.uvp.projection.TaskProjection;
+import com.uvp.projection.TaskSearchRow;
+import com.uvp.repository.TaskRepository;
+import com.uvp.search.Bm25Index;
+import com.uvp.search.Tokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Full-text task search over title, description and organization name, served from an in-memory
+// BM25 index. TaskService reports every create/update/close; the whole index is rebuilt from a streamed
+// scan at startup and on search.tasks.refresh-interval-ms, which also picks up writes made on other nodes.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskSearchService {
+
+    // a title hit outranks the same word in the organization name, which outranks the description
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float ORGANIZATION_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${search.tasks.max-page-size:50}")
+    private int maxPageSize;
+
+    public record TaskAttributes(Task.TaskStatus status, LocalDate startDate, LocalDate endDate) {
+    }
+
+    public record SearchPage(List<TaskProjection> items, int total, int page, int size) {
+    }
+
+    private final Bm25Index<TaskAttributes> index = new Bm25Index<>();
+
+    // tasks written while a rebuild streams the table; the rebuild must not overwrite them with what it read
+    private final Set<Integer> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public void index(Task task) {
+        Integer taskId = task.getTaskId();
+        TaskAttributes attributes = new TaskAttributes(task.getStatus(), task.getStartDate(), task.getEndDate());
+        Map<String, Float> terms = terms(task.getTitle(), task.getDescription(), task.getOrganizationHome().getName());
+        afterCommit(() -> {
+            if (rebuilding) touchedDuringRebuild.add(taskId);
+            index.put(taskId, attributes, terms);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Map<String, Float> terms(String title, String description, String organizationName) {
+        Map<String, Float> terms = new HashMap<>();
+        for (String token : Tokenizer.tokenize(title)) terms.merge(token, TITLE_WEIGHT, Float::sum);
+        for (String token : Tokenizer.tokenize(organizationName)) terms.merge(token, ORGANIZATION_WEIGHT, Float::sum);
+        for (String token : Tokenizer.tokenize(description)) terms.merge(token, DESCRIPTION_WEIGHT, Float::sum);
+        return terms;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${search.tasks.refresh-interval-ms:600000}",
+            fixedDelayString = "${search.tasks.refresh-interval-ms:600000}")
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        touchedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            Set<Integer> seen = new HashSet<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<TaskSearchRow> rows = taskRepository.streamSearchRows()) {
+                    rows.forEach(row -> {
+                        seen.add(row.getTaskId());
+                        if (touchedDuringRebuild.contains(row.getTaskId())) return;
+                        index.put(row.getTaskId(),
+                                new TaskAttributes(row.getStatus(), row.getStartDate(), row.getEndDate()),
+                                terms(row.getTitle(), row.getDescription(), row.getOrganizationName()));
+                    });
+                }
+            });
+            for (Integer id : index.ids()) {
+                if (!seen.contains(id) && !touchedDuringRebuild.contains(id)) index.remove(id);
+            }
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+        log.info("Task search index: {} tasks in {} ms", index.size(), System.currentTimeMillis() - started);
+    }
+
+    // statuses null = any; from/to keep tasks whose [startDate, endDate] overlaps the range
+    public SearchPage search(String query, Set<Task.TaskStatus> statuses, LocalDate from, LocalDate to,
+                             int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        int pageNumber = Math.max(0, page);
+        int offset = offset(pageNumber, pageSize);
+        Bm25Index.Result<TaskAttributes> result = index.search(Tokenizer.tokenize(query), task ->
+                        (statuses == null || statuses.contains(task.status()))
+                                && (from == null || task.endDate() == null || !task.endDate().isBefore(from))
+                                && (to == null || task.startDate() == null || !task.startDate().isAfter(to)),
+                offset, pageSize);
+
+        List<Integer> ids = result.hits().stream().map(Bm25Index.Hit::id).toList();
+        Map<Integer, TaskProjection> rows = taskRepository.findByTaskIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskProjection::getTaskId, Function.identity()));
+        List<TaskProjection> items = ids.stream().map(rows::get).filter(row -> row != null).toList();
+        return new SearchPage(items, result.total(), pageNumber, pageSize);
+    }
+
+    // the index keeps offset + size hits, so both have to fit in an int
+    private static int offset(int pageNumber, int pageSize) {
+        try {
+            return Math.addExact(Math.multiplyExact(pageNumber, pageSize), pageSize) - pageSize;
+        } catch (ArithmeticException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page " + pageNumber + " is out of range");
+        }
+    }
+}
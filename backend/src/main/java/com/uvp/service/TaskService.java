@@ -10,15 +10,19 @@ import com.uvp.repository.OrganizationHomeRepository;
 import com.uvp.repository.TaskRepository;
 import com.uvp.repository.UserRepository;
 import com.uvp.utility.JwtUtil;
+import com.uvp.utility.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -29,15 +33,45 @@ public class TaskService {
     private ApplicationRepository applicationRepository;
     @Autowired
     private OrganizationHomeRepository organizationHomeRepository;
+    @Autowired
+    private BlobStore blobStore;
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Value("${tasks.feed.max-page-size:50}")
+    private int maxFeedPageSize;
 
     public Task getTask(int taskId){
         Task task=taskRepository.findById(taskId).orElse(null);
-
-        if (task != null && task.getImages() != null) {
-            String baseUrl = "http://localhost:8080/"; // you can also move this to application.properties
-            task.setImages(baseUrl + task.getImages().replace("\\", "/"));
+        if (task == null || task.getImages() == null) {
+            return task;
         }
-        return task;
+
+        // Absolute URLs go on a copy: the managed entity (and the second-level cache behind it)
+        // must keep the stored paths, or a later flush in this session would write the URLs back
+        String baseUrl = "http://localhost:8080/"; // you can also move this to application.properties
+        return Task.builder()
+                .taskId(task.getTaskId())
+                .organizationHome(task.getOrganizationHome())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .capacity(task.getCapacity())
+                .startDate(task.getStartDate())
+                .endDate(task.getEndDate())
+                .locationLink(task.getLocationLink())
+                .images(baseUrl + task.getImages().replace("\\", "/"))
+                .mediumImage(task.getMediumImage() != null ? baseUrl + task.getMediumImage() : null)
+                .thumbnail(task.getThumbnail() != null ? baseUrl + task.getThumbnail() : null)
+                .createdAt(task.getCreatedAt())
+                .filledSeats(task.getFilledSeats())
+                .build();
     }
 
 
@@ -52,70 +86,131 @@ public class TaskService {
         return taskRepository.findByOrganizationHomeOrgIdAndStatusOrderByCreatedAtDesc(orgId,taskStatus);
     }
 
+    // One page of the feed plus the token for the next one (null on the last page)
+    public record FeedPage(List<TaskProjection> items, String nextCursor) {
+    }
+
+    public FeedPage getTaskFeed(String status, String cursor, int size) {
+        Task.TaskStatus taskStatus = Task.TaskStatus.valueOf(status.toUpperCase());
+        KeysetCursor.Position after = decodeCursor(cursor);
+        int pageSize = pageSize(size);
+        return toPage(taskRepository.findFeedPage(taskStatus, after.at(), after.id(),
+                Limit.of(pageSize + 1)), pageSize);
+    }
+
+    public FeedPage getOrgTaskFeed(Integer orgId, String status, String cursor, int size) {
+        Task.TaskStatus taskStatus = Task.TaskStatus.valueOf(status.toUpperCase());
+        KeysetCursor.Position after = decodeCursor(cursor);
+        int pageSize = pageSize(size);
+        return toPage(taskRepository.findOrgFeedPage(orgId, taskStatus, after.at(), after.id(),
+                Limit.of(pageSize + 1)), pageSize);
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, maxFeedPageSize));
+    }
+
+    // Fetch one extra row to know whether there is a next page without a COUNT(*)
+    private FeedPage toPage(List<TaskProjection> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new FeedPage(rows, null);
+        }
+        List<TaskProjection> items = rows.subList(0, pageSize);
+        TaskProjection last = items.get(pageSize - 1);
+        return new FeedPage(items, KeysetCursor.encode(last.getCreatedAt(), last.getTaskId()));
+    }
+
+    // The first page starts "after" a position newer than any task
+    private static final KeysetCursor.Position FEED_START =
+            new KeysetCursor.Position(LocalDateTime.of(9999, 12, 31, 23, 59), Integer.MAX_VALUE);
+
+    private static KeysetCursor.Position decodeCursor(String cursor) {
+        KeysetCursor.Position position = KeysetCursor.decode(cursor);
+        return position != null ? position : FEED_START;
+    }
+
     public Task createTask(Task task, MultipartFile imageFile, Integer orgId) throws IOException{
         OrganizationHome org = organizationHomeRepository.findById(orgId)
                 .orElseThrow(() -> new RuntimeException("Organization not found with ID: " + orgId));
         task.setOrganizationHome(org);
 
-        // Create upload folder if not exists
-        String uploadDir = "uploads/tasks/";
-        File dir = new File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
-
-        // Save file on server and store path in Task entity
-        if (imageFile != null && !imageFile.isEmpty()) {
-            String filename = System.currentTimeMillis() + "_" + imageFile.getOriginalFilename();
-            Path filepath = Paths.get(uploadDir, filename);
-            Files.write(filepath, imageFile.getBytes());
-            task.setImages(filepath.toString().replace("\\", "/"));
+        // Stream the image to disk first, outside the transaction; the path is stored with the Task
+        task.setThumbnail(null);
+        task.setMediumImage(null);
+        BlobStore.Staged staged = imageFile != null && !imageFile.isEmpty() ? blobStore.stage(imageFile) : null;
+
+        // Save Task; the blob reference is taken in the same transaction
+        Task saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                if (staged != null) {
+                    task.setImages(blobStore.adopt(staged));
+                }
+                Task created = taskRepository.save(task);
+                dashboardCounterService.taskCreated(created.getStatus());
+                return created;
+            });
+        } finally {
+            if (staged != null) {
+                blobStore.discard(staged);
+            }
         }
-
-        // Save Task
-        return taskRepository.save(task);
+        imageDerivativeService.generateForTask(saved.getImages()); // thumbnails are made in the background
+        taskSearchService.index(saved);
+        return saved;
     }
 
+    @Transactional
     public String closeService(Integer taskId) {
-        Task task=taskRepository.findById(taskId).orElseThrow();
-        task.setStatus(Task.TaskStatus.CLOSED);
-        taskRepository.save(task);
+        Task.TaskStatus from = taskRepository.findById(taskId).orElseThrow().getStatus();
+        // counters first (the lock order reconcile() uses), then only the Status column, and only if it
+        // is still the status just counted from
+        dashboardCounterService.taskStatusChanged(from, Task.TaskStatus.CLOSED);
+        if (taskRepository.changeStatus(taskId, from, Task.TaskStatus.CLOSED) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Task status changed meanwhile, try again");
+        }
+        taskSearchService.index(taskRepository.findWithOrganizationById(taskId).orElseThrow());
         return "Successfully closed";
     }
 
 
     public Task updateTask(Integer taskId, Task updatedTask, MultipartFile newImage) throws IOException {
-        Task existingTask = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + taskId));
-
-        existingTask.setTitle(updatedTask.getTitle());
-        existingTask.setDescription(updatedTask.getDescription());
-        existingTask.setCapacity(updatedTask.getCapacity());
-        existingTask.setStartDate(updatedTask.getStartDate());
-        existingTask.setEndDate(updatedTask.getEndDate());
-        existingTask.setLocationLink(updatedTask.getLocationLink());
-
-        if (newImage != null && !newImage.isEmpty()) {
-            // Delete old image if exists
-            if (existingTask.getImages() != null) {
-                File oldFile = new File(existingTask.getImages());
-                if (oldFile.exists()) {
-                    oldFile.delete();
+        BlobStore.Staged staged = newImage != null && !newImage.isEmpty() ? blobStore.stage(newImage) : null;
+
+        // Load, edit and save in one transaction, the row locked from the read on: a Task merged from an
+        // earlier read would write its stale Status back over a close that committed in between
+        Task saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Task existingTask = taskRepository.lockById(taskId)
+                        .orElseThrow(() -> new RuntimeException("Task not found with ID: " + taskId));
+                existingTask.setTitle(updatedTask.getTitle());
+                existingTask.setDescription(updatedTask.getDescription());
+                existingTask.setCapacity(updatedTask.getCapacity());
+                existingTask.setStartDate(updatedTask.getStartDate());
+                existingTask.setEndDate(updatedTask.getEndDate());
+                existingTask.setLocationLink(updatedTask.getLocationLink());
+                if (staged != null) {
+                    // drop our reference to the old image (deleted after commit once nothing uses it)
+                    String oldImage = existingTask.getImages();
+                    existingTask.setImages(blobStore.adopt(staged));
+                    existingTask.setThumbnail(null);
+                    existingTask.setMediumImage(null);
+                    blobStore.release(oldImage);
                 }
+                Task task = taskRepository.save(existingTask);
+                taskSearchService.index(task); // reads the organization name here, applied after commit
+                return task;
+            });
+        } finally {
+            if (staged != null) {
+                blobStore.discard(staged);
             }
-
-            // Save new image
-            String uploadDir = "uploads/tasks/";
-            File dir = new File(uploadDir);
-            if (!dir.exists()) dir.mkdirs();
-
-            String filename = System.currentTimeMillis() + "_" + newImage.getOriginalFilename();
-            Path filepath = Paths.get(uploadDir, filename);
-            Files.write(filepath, newImage.getBytes());
-
-            existingTask.setImages(filepath.toString().replace("\\", "/"));
         }
-
-        //  Save updated task
-        return taskRepository.save(existingTask);
+        if (staged != null) {
+            imageDerivativeService.generateForTask(saved.getImages());
+        }
+        return saved;
     }
 
     public List<Task> getTasksByOrg(Integer orgId) {
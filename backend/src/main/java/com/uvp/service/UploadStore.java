@@ -0,0 +1,112 @@
+package com.uvp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Streams uploaded files to disk through a fixed 64 KB buffer instead of MultipartFile.getBytes(),
+// hashing them on the way and enforcing the size limit for their type before they are kept.
+@Component
+public class UploadStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${upload.max-size.image:10MB}")
+    private DataSize maxImageSize;
+
+    @Value("${upload.max-size.video:200MB}")
+    private DataSize maxVideoSize;
+
+    @Value("${upload.max-size.document:20MB}")
+    private DataSize maxDocumentSize;
+
+    public record StoredUpload(Path path, String sha256, long size) {
+    }
+
+    // Writes into a uniquely named file in uploadDir: a name built from the client's file name could be
+    // shared by two uploads at the same instant, and one would replace the other before it is adopted.
+    // Deleted again if it fails the size limit or the copy fails.
+    public StoredUpload store(MultipartFile file, String uploadDir) throws IOException {
+        long limit = maxSizeFor(file.getContentType());
+        if (file.getSize() > limit) {
+            throw tooLarge(file, limit);
+        }
+
+        Path dir = Paths.get(uploadDir);
+        Files.createDirectories(dir);
+
+        MessageDigest sha256 = sha256();
+        Path staged = Files.createTempFile(dir, "upload_", ".tmp");
+        long size = 0;
+        boolean complete = false;
+        try {
+            try (InputStream in = new DigestInputStream(file.getInputStream(), sha256);
+                 OutputStream out = Files.newOutputStream(staged)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    size += n;
+                    if (size > limit) {
+                        throw tooLarge(file, limit);
+                    }
+                    out.write(buffer, 0, n);
+                }
+            }
+            complete = true;
+        } finally {
+            if (!complete) {
+                Files.deleteIfExists(staged);
+            }
+        }
+
+        return new StoredUpload(staged, HexFormat.of().formatHex(sha256.digest()), size);
+    }
+
+    private long maxSizeFor(String contentType) {
+        if (contentType != null && contentType.startsWith("image/")) {
+            return maxImageSize.toBytes();
+        }
+        if (contentType != null && contentType.startsWith("video/")) {
+            return maxVideoSize.toBytes();
+        }
+        return maxDocumentSize.toBytes();
+    }
+
+    // Drop any directory part the client sent along with the name
+    static String originalName(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        if (name == null || name.isBlank()) {
+            return "file";
+        }
+        Path fileName = Paths.get(name.replace("\\", "/")).getFileName();
+        return fileName != null ? fileName.toString() : "file";
+    }
+
+    private static ResponseStatusException tooLarge(MultipartFile file, long limit) {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "File " + file.getOriginalFilename() + " exceeds the " + DataSize.ofBytes(limit).toMegabytes()
+                        + " MB limit for " + file.getContentType());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,7 +5,6 @@ import com.uvp.entity.User;
 import com.uvp.projection.ProofTaskProjection;
 import com.uvp.repository.CertificateRepository;
 import com.uvp.repository.UserRepository;
-import com.uvp.utility.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,8 +19,7 @@ public class VolunteerService {
     @Autowired
     private CertificateRepository certificateRepository;
 
-    public User getProfile(String token) {
-        int userId = JwtUtil.extractUserId(token);
+    public User getProfile(Integer userId) {
         return userRepository.findById(userId).orElse(null);
     }
 
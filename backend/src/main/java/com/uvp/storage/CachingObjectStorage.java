@@ -0,0 +1,91 @@
+package com.uvp.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+// Read-through local copy of a remote ObjectStorage: the first openLocal() of a key on this node downloads it
+// into a size-bounded DiskCache, later reads (and range requests) are served from that file.
+// get() streams straight from the delegate for callers that keep their own copy.
+// Objects are immutable once written (content-addressed blobs, certificates derived from their row).
+public class CachingObjectStorage implements ObjectStorage {
+
+    private final ObjectStorage delegate;
+    private final DiskCache cache;
+
+    public CachingObjectStorage(ObjectStorage delegate, DiskCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void put(String key, InputStream content, long length, String contentType) throws IOException {
+        delegate.put(key, content, length, contentType);
+        cache.invalidate(cacheName(key));
+    }
+
+    @Override
+    public void putFile(String key, Path file, String contentType) throws IOException {
+        delegate.putFile(key, file, contentType);
+        cache.invalidate(cacheName(key));
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return delegate.get(key);
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return delegate.exists(key);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        delegate.delete(key);
+        cache.invalidate(cacheName(key));
+    }
+
+    @Override
+    public Optional<String> presignedUrl(String key, Duration ttl) {
+        return delegate.presignedUrl(key, ttl);
+    }
+
+    @Override
+    public Optional<OpenFile> openLocal(String key) throws IOException {
+        try {
+            return Optional.of(fetch(key));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean isShared() {
+        return delegate.isShared();
+    }
+
+    private OpenFile fetch(String key) throws IOException {
+        try {
+            return cache.open(cacheName(key), os -> {
+                try (InputStream in = delegate.get(key)) {
+                    in.transferTo(os);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    // keys have folders in them, the cache is one flat folder
+    private static String cacheName(String key) {
+        return URLEncoder.encode(key, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,147 @@
+package com.uvp.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+// Size-bounded LRU of files in one folder. A miss calls the given Writer to produce the file;
+// concurrent misses for the same name share one write. Files are handed out open, never by name.
+public class DiskCache {
+
+    @FunctionalInterface
+    public interface Writer {
+        void write(OutputStream os) throws Exception;
+    }
+
+    private final Path dir;
+    private final long maxBytes;
+
+    // file name -> size, in access order; guarded by this
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Map<String, CompletableFuture<Path>> writing = new ConcurrentHashMap<>();
+
+    public DiskCache(Path dir, long maxBytes) throws IOException {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(dir);
+
+        // pick up files already on disk, oldest first so they are evicted first
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> existing = files.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparingLong(p -> p.toFile().lastModified()))
+                    .toList();
+            synchronized (this) {
+                for (Path file : existing) {
+                    long size = file.toFile().length();
+                    entries.put(file.getFileName().toString(), size);
+                    totalBytes += size;
+                }
+                evict(null);
+            }
+        }
+    }
+
+    // Opens the cached file, writing it first on a miss. The channel is opened under the lock eviction takes,
+    // so a later eviction only unlinks the name and the caller keeps reading the bytes it opened.
+    public OpenFile open(String fileName, Writer writer) throws Exception {
+        Path file = dir.resolve(fileName);
+        while (true) {
+            synchronized (this) {
+                Long size = entries.get(fileName);
+                if (size != null) {
+                    try {
+                        return OpenFile.open(file, false);
+                    } catch (NoSuchFileException e) {
+                        // removed behind our back: forget it and write it again
+                        entries.remove(fileName);
+                        totalBytes -= size;
+                    }
+                }
+            }
+            fill(fileName, file, writer);
+        }
+    }
+
+    // single flight: the first caller writes, everyone else waits for its result
+    private void fill(String fileName, Path file, Writer writer) throws Exception {
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = writing.putIfAbsent(fileName, mine);
+        if (running != null) {
+            try {
+                running.get();
+                return;
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        try {
+            mine.complete(write(fileName, file, writer));
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            writing.remove(fileName);
+        }
+    }
+
+    public synchronized void invalidate(String fileName) throws IOException {
+        Long size = entries.remove(fileName);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        Files.deleteIfExists(dir.resolve(fileName));
+    }
+
+    private Path write(String fileName, Path file, Writer writer) throws Exception {
+        // write next to the target and move into place, so readers never see a half-written file
+        Path tmp = Files.createTempFile(dir, fileName, ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp)) {
+                writer.write(os);
+            }
+            // the move and the entry change together, so invalidate() and evict() never see one without the other
+            synchronized (this) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Long previous = entries.put(fileName, Files.size(file));
+                totalBytes += entries.get(fileName) - (previous == null ? 0 : previous);
+                evict(fileName);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return file;
+    }
+
+    // drop least recently used files until the cache fits, never the one just written. Readers hold an open
+    // channel (see open), so deleting the name does not cut off a download in progress.
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keep)) continue;
+            try {
+                Files.deleteIfExists(dir.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                continue;
+            }
+            totalBytes -= eldest.getValue();
+            it.remove();
+        }
+    }
+}
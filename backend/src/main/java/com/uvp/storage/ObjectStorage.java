@@ -0,0 +1,40 @@
+package com.uvp.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+// Where uploads and rendered certificates live. Keys are relative to the uploads folder,
+// e.g. "blobs/ab/cd/abcd...ef.png" or "certificates/certificate_3_7.pdf".
+public interface ObjectStorage {
+
+    void put(String key, InputStream content, long length, String contentType) throws IOException;
+
+    // Stores a local file under key and consumes it (the file is gone afterwards)
+    default void putFile(String key, Path file, String contentType) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            put(key, in, Files.size(file), contentType);
+        }
+        Files.deleteIfExists(file);
+    }
+
+    // Throws NoSuchFileException if there is no object under key
+    InputStream get(String key) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    // A URL clients can download the object from directly, if the backend supports it
+    Optional<String> presignedUrl(String key, Duration ttl);
+
+    // A file on this node holding the object, opened (for sendfile / range requests), if there is one.
+    // The caller closes it.
+    Optional<OpenFile> openLocal(String key) throws IOException;
+
+    // true if every backend node sees the same objects
+    boolean isShared();
+}
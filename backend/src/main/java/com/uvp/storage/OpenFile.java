@@ -0,0 +1,33 @@
+package com.uvp.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// A local file opened for reading. The channel keeps the bytes it was opened on even if the name is
+// deleted meanwhile (a DiskCache eviction); path is only set when the name stays valid, e.g. for sendfile.
+public record OpenFile(FileChannel channel, String name, long lastModified, Path path) implements Closeable {
+
+    public static OpenFile open(Path file, boolean stable) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new OpenFile(channel, file.getFileName().toString(),
+                    Files.getLastModifiedTime(file).toMillis(), stable ? file : null);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
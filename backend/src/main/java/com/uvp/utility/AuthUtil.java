@@ -1,7 +1,8 @@
 package com.uvp.utility;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 public class AuthUtil {
     public static int getUserIdByAuthHeader(String authHeader){
@@ -9,11 +10,12 @@ public class AuthUtil {
             return 0;
         }
 
-        String token = authHeader.substring(7); // Remove "Bearer "
-        if (!JwtUtil.isTokenValid(token)) {
-            return 0;
+        // Already verified by JwtAuthenticationFilter for this request
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth instanceof UsernamePasswordAuthenticationToken && auth.getPrincipal() instanceof Integer userId) {
+            return userId;
         }
 
-        return JwtUtil.extractUserId(token);
+        return 0;
     }
 }
@@ -2,6 +2,7 @@ package com.uvp.utility;
 
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.SignatureAlgorithm;
 
@@ -13,9 +14,11 @@ public class JwtUtil {
 
     private static final String SECRET_KEY = "unifiedvolunterportalunifiedvolunterportal";
 
-    private static Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
-    }
+    // Built once: the key and the parser are immutable and safe to share between threads
+    private static final Key SIGNING_KEY = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private static final JwtParser PARSER = Jwts.parserBuilder()
+            .setSigningKey(SIGNING_KEY)
+            .build();
 
     private static final long EXPIRATION = 1000 * 60 * 60; // 1 hour
 
@@ -25,17 +28,22 @@ public class JwtUtil {
                 .setSubject(userId.toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(SIGNING_KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    // Extract Claims
+    // Extract Claims (verifies the signature and expiry, throws if either fails)
     private static Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return PARSER.parseClaimsJws(token).getBody();
+    }
+
+    // Verify once and return the claims, or null if the token is invalid or expired
+    public static Claims parseVerified(String token) {
+        try {
+            return extractAllClaims(token);
+        } catch (Exception e) {
+            return null;
+        }
     }
 
     // Extract User ID
@@ -52,4 +60,3 @@ public class JwtUtil {
         }
     }
 }
-
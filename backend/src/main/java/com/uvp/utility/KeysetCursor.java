@@ -0,0 +1,36 @@
+package com.uvp.utility;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Continuation token of a keyset-paginated list ordered by (timestamp, id): base64url of
+// "<timestamp>|<id>" of the last row on the previous page. Opaque to clients.
+public class KeysetCursor {
+
+    public record Position(LocalDateTime at, Integer id) {
+    }
+
+    public static String encode(LocalDateTime at, Integer id) {
+        String position = at + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null for the first page; 400 if the token was not produced by encode
+    public static Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new Position(LocalDateTime.parse(position.substring(0, separator)),
+                    Integer.parseInt(position.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
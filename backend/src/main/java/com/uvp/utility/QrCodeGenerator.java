@@ -0,0 +1,31 @@
+package com.uvp.utility;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+public class QrCodeGenerator {
+
+    public static final int SIZE = 200;
+
+    // QRCodeWriter keeps no state between calls, so one instance serves every thread
+    private static final QRCodeWriter WRITER = new QRCodeWriter();
+
+    public static byte[] toPng(String text) throws WriterException, IOException {
+        BitMatrix bitMatrix = WRITER.encode(text, BarcodeFormat.QR_CODE, SIZE, SIZE);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", baos);
+        return baos.toByteArray();
+    }
+
+    public static String toBase64Png(String text) throws WriterException, IOException {
+        return Base64.getEncoder().encodeToString(toPng(text));
+    }
+}
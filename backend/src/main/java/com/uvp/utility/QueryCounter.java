@@ -0,0 +1,20 @@
+package com.uvp.utility;
+
+// SQL statements sent by the current thread since the last reset; fed by QueryCountInspector.
+// QueryCountFilter resets it per request, tests use it to hold service methods to a statement budget.
+public class QueryCounter {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    public static void increment() {
+        COUNT.get()[0]++;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
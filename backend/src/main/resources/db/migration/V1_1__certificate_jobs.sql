@@ -0,0 +1,18 @@
+-- Certificate PDFs are rendered by a durable job queue (CertificateJobService); a certificate stays
+-- PENDING until its job has run. Certificates issued before the queue existed are ISSUED.
+
+ALTER TABLE Certificate ADD COLUMN `Status` varchar(16) NOT NULL DEFAULT 'ISSUED';
+
+CREATE TABLE `CertificateJob` (
+  `JobId` int NOT NULL AUTO_INCREMENT,
+  `Attempts` int NOT NULL,
+  `CertificateId` int NOT NULL,
+  `CreatedAt` datetime(6) DEFAULT NULL,
+  `LastError` varchar(1000) DEFAULT NULL,
+  `LockedAt` datetime(6) DEFAULT NULL,
+  `NextAttemptAt` datetime(6) NOT NULL,
+  `Status` enum('DONE','FAILED','PENDING','RUNNING') NOT NULL,
+  PRIMARY KEY (`JobId`),
+  UNIQUE KEY `UK6vc1sv2t6b73tsqdkptwl7l9b` (`CertificateId`),
+  CONSTRAINT `FKa9db8lij1a30h4bk3x1bfixbs` FOREIGN KEY (`CertificateId`) REFERENCES `Certificate` (`CertificateId`)
+) ENGINE=InnoDB;
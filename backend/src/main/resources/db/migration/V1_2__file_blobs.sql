@@ -0,0 +1,16 @@
+-- Content-addressed blob store for uploads (BlobStore): one row per distinct file, shared by reference count.
+-- Existing files are moved in by BlobMigration at startup; Submission keeps the uploader's file name.
+
+CREATE TABLE `FileBlob` (
+  `BlobId` int NOT NULL AUTO_INCREMENT,
+  `CreatedAt` datetime(6) DEFAULT NULL,
+  `Hash` varchar(64) NOT NULL,
+  `Path` varchar(255) NOT NULL,
+  `RefCount` int NOT NULL,
+  `Size` bigint NOT NULL,
+  PRIMARY KEY (`BlobId`),
+  UNIQUE KEY `UK1rdnhtu3qqq25j3k2i18fc8mh` (`Hash`),
+  UNIQUE KEY `UKlis0m2kxaobun7et6oahbqahh` (`Path`)
+) ENGINE=InnoDB;
+
+ALTER TABLE Submission ADD COLUMN `FileName` varchar(255) DEFAULT NULL;
@@ -0,0 +1,10 @@
+-- Thumbnail and medium renditions of task images and proofs (ImageDerivativeService).
+-- NULL until generated; existing images are backfilled in the background.
+
+ALTER TABLE Task
+  ADD COLUMN `MediumImage` varchar(255) DEFAULT NULL,
+  ADD COLUMN `Thumbnail` varchar(255) DEFAULT NULL;
+
+ALTER TABLE Submission
+  ADD COLUMN `ProofMedium` varchar(255) DEFAULT NULL,
+  ADD COLUMN `ProofThumbnail` varchar(255) DEFAULT NULL;
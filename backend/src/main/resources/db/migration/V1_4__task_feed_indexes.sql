@@ -0,0 +1,3 @@
+-- Keyset pagination of the task feeds (TaskRepository.findFeedPage / findOrgFeedPage)
+CREATE INDEX IX_Task_Status_CreatedAt ON Task (Status, CreatedAt, TaskId);
+CREATE INDEX IX_Task_Org_Status_CreatedAt ON Task (OrgId, Status, CreatedAt, TaskId);
@@ -0,0 +1,3 @@
+-- Submission inbox stages filter on the verification flags and page by (SubmittedAt, SubmissionId)
+CREATE INDEX IX_Submission_Org_Admin_SubmittedAt ON Submission (VerifiedByOrg, VerifiedByAdmin, SubmittedAt, SubmissionId);
+CREATE INDEX IX_Submission_Admin_SubmittedAt ON Submission (VerifiedByAdmin, SubmittedAt, SubmissionId);
@@ -0,0 +1,89 @@
+-- Schema as hibernate.ddl-auto=update left it before migrations took over (the entities before the
+-- certificate job queue, blob store, renditions and feed indexes; those follow as V1_1..V1_5).
+-- Databases that already have these tables are baselined at this version (spring.flyway.baseline-on-migrate),
+-- so this script only runs against an empty database; every other migration runs on both.
+
+CREATE TABLE `user` (
+  `userId` int NOT NULL AUTO_INCREMENT,
+  `bio` text DEFAULT NULL,
+  `createdAt` datetime(6) DEFAULT NULL,
+  `email` varchar(255) NOT NULL,
+  `location` varchar(255) NOT NULL,
+  `name` varchar(255) NOT NULL,
+  `password` varchar(255) NOT NULL,
+  `phone` varchar(255) NOT NULL,
+  `role` enum('ADMIN','VOLUNTEER') NOT NULL,
+  PRIMARY KEY (`userId`),
+  UNIQUE KEY `UKob8kqyqqgmefl0aco34akdtpe` (`email`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `OrganizationHome` (
+  `OrgId` int NOT NULL AUTO_INCREMENT,
+  `Address` varchar(255) DEFAULT NULL,
+  `Contact` varchar(255) DEFAULT NULL,
+  `CreatedAt` datetime(6) DEFAULT NULL,
+  `Description` varchar(255) DEFAULT NULL,
+  `Email` varchar(255) NOT NULL,
+  `LogoUrl` varchar(255) DEFAULT NULL,
+  `Name` varchar(255) NOT NULL,
+  `Password` varchar(255) NOT NULL,
+  `Type` varchar(255) NOT NULL,
+  PRIMARY KEY (`OrgId`),
+  UNIQUE KEY `UKn9nuo4i890tkg24fytce6uxaw` (`Email`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `Task` (
+  `TaskId` int NOT NULL AUTO_INCREMENT,
+  `Capacity` int NOT NULL,
+  `CreatedAt` datetime(6) DEFAULT NULL,
+  `Description` text DEFAULT NULL,
+  `EndDate` date DEFAULT NULL,
+  `Images` varchar(255) DEFAULT NULL,
+  `LocationLink` varchar(255) DEFAULT NULL,
+  `StartDate` date DEFAULT NULL,
+  `Status` enum('CLOSED','COMPLETED','OPEN','VERIFIED') NOT NULL,
+  `Title` varchar(255) NOT NULL,
+  `OrgId` int NOT NULL,
+  PRIMARY KEY (`TaskId`),
+  KEY `FKjab0ctyeg2t7yo3yk2l5xd438` (`OrgId`),
+  CONSTRAINT `FKjab0ctyeg2t7yo3yk2l5xd438` FOREIGN KEY (`OrgId`) REFERENCES `OrganizationHome` (`OrgId`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `Application` (
+  `ApplicationId` int NOT NULL AUTO_INCREMENT,
+  `AppliedAt` datetime(6) DEFAULT NULL,
+  `Status` enum('APPROVED','PENDING','REJECTED') NOT NULL,
+  `TaskId` int NOT NULL,
+  `UserId` int NOT NULL,
+  PRIMARY KEY (`ApplicationId`),
+  KEY `FKcf2vxybr7hudqm6r6eq16j8ks` (`TaskId`),
+  KEY `FKk81rm4pl3l1xa259lglfm9a7g` (`UserId`),
+  CONSTRAINT `FKcf2vxybr7hudqm6r6eq16j8ks` FOREIGN KEY (`TaskId`) REFERENCES `Task` (`TaskId`),
+  CONSTRAINT `FKk81rm4pl3l1xa259lglfm9a7g` FOREIGN KEY (`UserId`) REFERENCES `user` (`userId`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `Submission` (
+  `SubmissionId` int NOT NULL AUTO_INCREMENT,
+  `ProofFile` varchar(255) DEFAULT NULL,
+  `SubmittedAt` datetime(6) DEFAULT NULL,
+  `VerifiedByAdmin` bit(1) DEFAULT NULL,
+  `VerifiedByOrg` bit(1) DEFAULT NULL,
+  `ApplicationId` int NOT NULL,
+  PRIMARY KEY (`SubmissionId`),
+  KEY `FKmvl286jq7qa5fknvbj5y0gn7d` (`ApplicationId`),
+  CONSTRAINT `FKmvl286jq7qa5fknvbj5y0gn7d` FOREIGN KEY (`ApplicationId`) REFERENCES `Application` (`ApplicationId`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `Certificate` (
+  `CertificateId` int NOT NULL AUTO_INCREMENT,
+  `Block` tinyint(1) NOT NULL DEFAULT 0,
+  `IssueDate` date DEFAULT NULL,
+  `QRCode` longtext DEFAULT NULL,
+  `TaskId` int NOT NULL,
+  `UserId` int NOT NULL,
+  PRIMARY KEY (`CertificateId`),
+  KEY `FKix36b3m5x829w1h2n3w1dcgh6` (`TaskId`),
+  KEY `FK7mqikawebbasc5twtusx4ke9e` (`UserId`),
+  CONSTRAINT `FK7mqikawebbasc5twtusx4ke9e` FOREIGN KEY (`UserId`) REFERENCES `user` (`userId`),
+  CONSTRAINT `FKix36b3m5x829w1h2n3w1dcgh6` FOREIGN KEY (`TaskId`) REFERENCES `Task` (`TaskId`)
+) ENGINE=InnoDB;
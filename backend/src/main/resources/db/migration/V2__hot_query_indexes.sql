@@ -0,0 +1,46 @@
+-- Composite indexes for the hot repository queries (see HotQueryIndexTests for the EXPLAIN check).
+
+-- Application(TaskId, UserId) becomes unique. Nothing stopped concurrent applies from creating duplicates,
+-- so fold them into the oldest row first: it inherits an approval and the proofs of the others.
+UPDATE Application a
+JOIN (SELECT TaskId, UserId, MIN(ApplicationId) AS KeepId
+      FROM Application
+      GROUP BY TaskId, UserId
+      HAVING COUNT(*) > 1 AND SUM(Status = 'APPROVED') > 0) k ON a.ApplicationId = k.KeepId
+SET a.Status = 'APPROVED';
+
+UPDATE Submission s
+JOIN Application a ON a.ApplicationId = s.ApplicationId
+JOIN (SELECT TaskId, UserId, MIN(ApplicationId) AS KeepId
+      FROM Application
+      GROUP BY TaskId, UserId
+      HAVING COUNT(*) > 1) k ON k.TaskId = a.TaskId AND k.UserId = a.UserId
+SET s.ApplicationId = k.KeepId
+WHERE a.ApplicationId <> k.KeepId;
+
+DELETE a FROM Application a
+JOIN (SELECT TaskId, UserId, MIN(ApplicationId) AS KeepId
+      FROM Application
+      GROUP BY TaskId, UserId
+      HAVING COUNT(*) > 1) k ON k.TaskId = a.TaskId AND k.UserId = a.UserId
+WHERE a.ApplicationId <> k.KeepId;
+
+-- existsByTaskAndUser, and one application per volunteer per task
+CREATE UNIQUE INDEX UX_Application_Task_User ON Application (TaskId, UserId);
+-- a volunteer's applications by status (findByUserIdAndStatus, applied-not-submitted)
+CREATE INDEX IX_Application_User_Status ON Application (UserId, Status);
+-- an organization's pending applications, newest first (joined from Task by OrgId)
+CREATE INDEX IX_Application_Task_Status_AppliedAt ON Application (TaskId, Status, AppliedAt);
+
+-- a volunteer's visible certificates (findCertificatesByUserId)
+CREATE INDEX IX_Certificate_User_Block ON Certificate (UserId, Block);
+-- certificates of a task, and "already certified" checks for a (task, user)
+CREATE INDEX IX_Certificate_Task_User ON Certificate (TaskId, UserId);
+
+-- job queue polling and stale-lease recovery
+CREATE INDEX IX_CertificateJob_Status_NextAttemptAt ON CertificateJob (Status, NextAttemptAt);
+CREATE INDEX IX_CertificateJob_Status_LockedAt ON CertificateJob (Status, LockedAt);
+
+-- renditions are written back by the original's path
+CREATE INDEX IX_Task_Images ON Task (Images);
+CREATE INDEX IX_Submission_ProofFile ON Submission (ProofFile);
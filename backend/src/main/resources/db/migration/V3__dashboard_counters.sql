@@ -0,0 +1,15 @@
+-- Admin dashboard figures, maintained by DashboardCounterService alongside the rows they count
+
+CREATE TABLE `DashboardCounter` (
+  `Name` varchar(64) NOT NULL,
+  `Value` bigint NOT NULL,
+  PRIMARY KEY (`Name`)
+) ENGINE=InnoDB;
+
+INSERT INTO DashboardCounter (Name, Value) SELECT 'users', COUNT(*) FROM `user`;
+INSERT INTO DashboardCounter (Name, Value) SELECT 'organizations', COUNT(*) FROM OrganizationHome;
+INSERT INTO DashboardCounter (Name, Value) SELECT 'tasks', COUNT(*) FROM Task;
+INSERT INTO DashboardCounter (Name, Value) SELECT 'tasks.OPEN', COUNT(*) FROM Task WHERE Status = 'OPEN';
+INSERT INTO DashboardCounter (Name, Value) SELECT 'tasks.CLOSED', COUNT(*) FROM Task WHERE Status = 'CLOSED';
+INSERT INTO DashboardCounter (Name, Value) SELECT 'tasks.COMPLETED', COUNT(*) FROM Task WHERE Status = 'COMPLETED';
+INSERT INTO DashboardCounter (Name, Value) SELECT 'tasks.VERIFIED', COUNT(*) FROM Task WHERE Status = 'VERIFIED';
@@ -0,0 +1,30 @@
+-- Per-organization dashboard read model, maintained by OrganizationSummaryService
+
+CREATE TABLE `OrganizationSummary` (
+  `OrgId` int NOT NULL,
+  `PendingApplications` bigint NOT NULL,
+  `ApprovedApplications` bigint NOT NULL,
+  `RejectedApplications` bigint NOT NULL,
+  `SubmissionsInReview` bigint NOT NULL,
+  `SubmissionsApproved` bigint NOT NULL,
+  PRIMARY KEY (`OrgId`),
+  CONSTRAINT `FK_OrganizationSummary_Org` FOREIGN KEY (`OrgId`) REFERENCES `OrganizationHome` (`OrgId`)
+) ENGINE=InnoDB;
+
+INSERT INTO OrganizationSummary (OrgId, PendingApplications, ApprovedApplications, RejectedApplications,
+                                 SubmissionsInReview, SubmissionsApproved)
+SELECT o.OrgId,
+       (SELECT COUNT(*) FROM Application a JOIN Task t ON t.TaskId = a.TaskId WHERE t.OrgId = o.OrgId AND a.Status = 'PENDING'),
+       (SELECT COUNT(*) FROM Application a JOIN Task t ON t.TaskId = a.TaskId WHERE t.OrgId = o.OrgId AND a.Status = 'APPROVED'),
+       (SELECT COUNT(*) FROM Application a JOIN Task t ON t.TaskId = a.TaskId WHERE t.OrgId = o.OrgId AND a.Status = 'REJECTED'),
+       (SELECT COUNT(*) FROM Submission s JOIN Application a ON a.ApplicationId = s.ApplicationId
+               JOIN Task t ON t.TaskId = a.TaskId WHERE t.OrgId = o.OrgId AND s.VerifiedByOrg = 0),
+       (SELECT COUNT(*) FROM Submission s JOIN Application a ON a.ApplicationId = s.ApplicationId
+               JOIN Task t ON t.TaskId = a.TaskId WHERE t.OrgId = o.OrgId AND s.VerifiedByOrg = 1)
+FROM OrganizationHome o;
+
+-- per-task fill rate: approved applications against Capacity
+ALTER TABLE Task ADD COLUMN `FilledSeats` int NOT NULL DEFAULT 0;
+
+UPDATE Task t
+SET t.FilledSeats = (SELECT COUNT(*) FROM Application a WHERE a.TaskId = t.TaskId AND a.Status = 'APPROVED');
@@ -0,0 +1,7 @@
+-- Seats held by pending and approved applications. Applying takes one with a conditional UPDATE
+-- (ReservedSeats < Capacity), so concurrent sign-ups can never overbook a task.
+ALTER TABLE Task ADD COLUMN `ReservedSeats` int NOT NULL DEFAULT 0;
+
+UPDATE Task t
+SET t.ReservedSeats = (SELECT COUNT(*) FROM Application a
+                       WHERE a.TaskId = t.TaskId AND a.Status IN ('PENDING', 'APPROVED'));
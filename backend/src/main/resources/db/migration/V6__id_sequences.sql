@@ -0,0 +1,27 @@
+-- Ids of Task, Application, Submission and Certificate come from this table in blocks
+-- (IdBlockAllocator), so Hibernate knows them before the INSERT and can batch inserts.
+-- LastId is the highest id handed out; existing ids are kept and the sequences continue after them.
+CREATE TABLE IdSequence (
+    `SequenceName` varchar(64) NOT NULL,
+    `LastId` bigint NOT NULL,
+    PRIMARY KEY (`SequenceName`)
+);
+
+INSERT INTO IdSequence (SequenceName, LastId)
+SELECT 'Task', COALESCE(MAX(TaskId), 0) FROM Task
+UNION ALL
+SELECT 'Application', COALESCE(MAX(ApplicationId), 0) FROM Application
+UNION ALL
+SELECT 'Submission', COALESCE(MAX(SubmissionId), 0) FROM Submission
+UNION ALL
+SELECT 'Certificate', COALESCE(MAX(CertificateId), 0) FROM Certificate;
+
+-- No AUTO_INCREMENT any more: an INSERT without an id must fail rather than take one from a block
+-- another node is still handing out. The column types do not change, so the foreign keys stay valid;
+-- MariaDB only lets referenced columns be modified with the checks off.
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE Task MODIFY `TaskId` int NOT NULL;
+ALTER TABLE Application MODIFY `ApplicationId` int NOT NULL;
+ALTER TABLE Submission MODIFY `SubmissionId` int NOT NULL;
+ALTER TABLE Certificate MODIFY `CertificateId` int NOT NULL;
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,40 @@
+-- Certificate(TaskId, UserId) becomes unique. The "already requested" check ran before the insert, so two
+-- concurrent approvals could both issue one. Fold duplicates the way V2 folds applications: keep the issued
+-- row if there is one (else the oldest), keep a block set on any of them, and carry over one issuance job.
+CREATE TEMPORARY TABLE CertificateFold AS
+SELECT TaskId, UserId,
+       COALESCE(MIN(CASE WHEN Status = 'ISSUED' THEN CertificateId END), MIN(CertificateId)) AS KeepId,
+       MAX(Block) AS Block
+FROM Certificate
+GROUP BY TaskId, UserId
+HAVING COUNT(*) > 1;
+
+UPDATE Certificate c
+JOIN CertificateFold f ON c.CertificateId = f.KeepId
+SET c.Block = f.Block;
+
+-- CertificateJob.CertificateId is unique: move a job only when the kept row has none
+UPDATE CertificateJob j
+JOIN (SELECT f.KeepId, MIN(dj.JobId) AS JobId
+      FROM CertificateFold f
+      JOIN Certificate c ON c.TaskId = f.TaskId AND c.UserId = f.UserId AND c.CertificateId <> f.KeepId
+      JOIN CertificateJob dj ON dj.CertificateId = c.CertificateId
+      LEFT JOIN CertificateJob kj ON kj.CertificateId = f.KeepId
+      WHERE kj.JobId IS NULL
+      GROUP BY f.KeepId) m ON j.JobId = m.JobId
+SET j.CertificateId = m.KeepId;
+
+DELETE j FROM CertificateJob j
+JOIN Certificate c ON c.CertificateId = j.CertificateId
+JOIN CertificateFold f ON f.TaskId = c.TaskId AND f.UserId = c.UserId
+WHERE c.CertificateId <> f.KeepId;
+
+DELETE c FROM Certificate c
+JOIN CertificateFold f ON f.TaskId = c.TaskId AND f.UserId = c.UserId
+WHERE c.CertificateId <> f.KeepId;
+
+DROP TEMPORARY TABLE CertificateFold;
+
+-- one certificate per volunteer per task; requestCertificate and the batch issue insert against it
+DROP INDEX IX_Certificate_Task_User ON Certificate;
+CREATE UNIQUE INDEX UX_Certificate_Task_User ON Certificate (TaskId, UserId);
@@ -0,0 +1,7 @@
+-- Certificates from before the QR payload was stored kept the whole Base64 QR PNG in QRCode. Store the
+-- verification URL it encoded instead (the image is rendered on demand) and shrink the column to fit.
+-- ${certificateUrlPrefix} is the prefix CertificateService gives new certificates (set in CertificateConfig).
+UPDATE Certificate SET QRCode = CONCAT('${certificateUrlPrefix}', UserId, '/', TaskId)
+WHERE QRCode IS NOT NULL AND QRCode NOT LIKE 'http%';
+
+ALTER TABLE Certificate MODIFY `QRCode` varchar(255) DEFAULT NULL;
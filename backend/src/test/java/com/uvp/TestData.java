@@ -0,0 +1,88 @@
+package com.uvp;
+
+import com.uvp.entity.OrganizationHome;
+import com.uvp.entity.Task;
+import com.uvp.entity.User;
+import com.uvp.repository.OrganizationHomeRepository;
+import com.uvp.repository.TaskRepository;
+import com.uvp.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Scope;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Seeds organizations, volunteers and tasks for tests against the real database (@Import(TestData.class)).
+// One instance per test, so cleanUp() removes exactly what that test created; @Transactional tests roll
+// back instead and need not call it.
+@TestComponent
+@Scope("prototype")
+@RequiredArgsConstructor
+public class TestData {
+
+    private final OrganizationHomeRepository organizationHomeRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final List<Integer> orgIds = new ArrayList<>();
+    private final List<Integer> userIds = new ArrayList<>();
+
+    public OrganizationHome organization(String name) {
+        OrganizationHome org = organizationHomeRepository.save(OrganizationHome.builder()
+                .name(name).email(uniqueEmail("org")).password("x").type("NGO").build());
+        orgIds.add(org.getOrgId());
+        return org;
+    }
+
+    public User volunteer(String name) {
+        return volunteers(name, 1).get(0);
+    }
+
+    // saved in one batch; names and emails are numbered
+    public List<User> volunteers(String name, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .name(count == 1 ? name : name + " " + i).email(uniqueEmail("user-" + i)).password("x")
+                    .role(User.Role.VOLUNTEER).location("Not specified").phone("Not provided").build());
+        }
+        users = userRepository.saveAll(users);
+        users.forEach(user -> userIds.add(user.getUserId()));
+        return users;
+    }
+
+    public Task task(OrganizationHome org, String title, int capacity) {
+        return task(Task.builder().organizationHome(org).title(title).capacity(capacity));
+    }
+
+    // for tasks that need more than a title and capacity; the organization must come from organization()
+    public Task task(Task.TaskBuilder task) {
+        return taskRepository.save(task.build());
+    }
+
+    // Applications, then tasks, then the volunteers and organizations themselves
+    public void cleanUp() {
+        for (Integer orgId : orgIds) {
+            jdbcTemplate.update("DELETE a FROM Application a JOIN Task t ON t.TaskId = a.TaskId WHERE t.OrgId = ?", orgId);
+            jdbcTemplate.update("DELETE FROM Task WHERE OrgId = ?", orgId);
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM Application WHERE UserId = ?", ids(userIds));
+        jdbcTemplate.batchUpdate("DELETE FROM user WHERE userId = ?", ids(userIds));
+        jdbcTemplate.batchUpdate("DELETE FROM OrganizationSummary WHERE OrgId = ?", ids(orgIds));
+        jdbcTemplate.batchUpdate("DELETE FROM OrganizationHome WHERE OrgId = ?", ids(orgIds));
+        orgIds.clear();
+        userIds.clear();
+    }
+
+    private static List<Object[]> ids(List<Integer> ids) {
+        return ids.stream().map(id -> new Object[]{id}).toList();
+    }
+
+    private static String uniqueEmail(String prefix) {
+        return prefix + "-" + UUID.randomUUID() + "@fixture.test";
+    }
+}
@@ -0,0 +1,148 @@
+package com.uvp.repository;
+
+import com.uvp.TestData;
+import com.uvp.entity.Application;
+import com.uvp.entity.OrganizationHome;
+import com.uvp.entity.Task;
+import com.uvp.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the hot repository queries, takes the SQL Hibernate actually sent and checks with EXPLAIN that MySQL
+// can answer it from the index added for it (db/migration/V2__hot_query_indexes.sql). possible_keys is checked
+// rather than key: on a near-empty table the optimizer may still pick a full scan.
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.uvp.repository.HotQueryIndexTests$SqlCapture")
+@Import(TestData.class)
+class HotQueryIndexTests {
+
+    // only the test thread's statements: the schedulers keep running (and sending SQL) during the tests
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+        static volatile Thread capturing;
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == capturing) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private CertificateJobRepository certificateJobRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    @Transactional
+    void applyDuplicateCheckUsesTaskUserIndex() {
+        // a unique-key lookup of a missing row is answered before planning ("Impossible WHERE"), so look up a real one
+        OrganizationHome org = testData.organization("Index org");
+        User user = testData.volunteer("Index volunteer");
+        Task task = testData.task(org, "Index task", 1);
+        applicationRepository.saveAndFlush(Application.builder().task(task).user(user).build());
+        assertUsesIndex("UX_Application_Task_User",
+                () -> applicationRepository.existsByTaskAndUser(task, user), task.getTaskId(), user.getUserId(), 1);
+    }
+
+    @Test
+    void appliedTasksUseUserStatusIndex() {
+        assertUsesIndex("IX_Application_User_Status",
+                () -> applicationRepository.findUserAppliedTasks(1, Application.ApplicationStatus.APPROVED), 1, "APPROVED");
+    }
+
+    @Test
+    void pendingApplicationsUseTaskStatusIndex() {
+        assertUsesIndex("IX_Application_Task_Status_AppliedAt",
+                () -> applicationRepository.findPendingApplicationsByOrgId(1, Application.ApplicationStatus.PENDING,
+                        Limit.unlimited()), 1, "PENDING");
+    }
+
+    @Test
+    void certificatesUseUserBlockIndex() {
+        assertUsesIndex("IX_Certificate_User_Block",
+                () -> certificateRepository.findCertificatesByUserId(1), 1);
+    }
+
+    @Test
+    void taskFeedUsesStatusCreatedAtIndex() {
+        assertUsesIndex("IX_Task_Status_CreatedAt",
+                () -> taskRepository.findFeedPage(Task.TaskStatus.OPEN, NOW, Integer.MAX_VALUE, Limit.of(21)),
+                "OPEN", NOW, NOW, Integer.MAX_VALUE, 21);
+    }
+
+    @Test
+    void orgTaskFeedUsesOrgStatusCreatedAtIndex() {
+        assertUsesIndex("IX_Task_Org_Status_CreatedAt",
+                () -> taskRepository.findOrgFeedPage(1, Task.TaskStatus.OPEN, NOW, Integer.MAX_VALUE, Limit.of(21)),
+                1, "OPEN", NOW, NOW, Integer.MAX_VALUE, 21);
+    }
+
+    @Test
+    void adminPendingInboxUsesAdminSubmittedAtIndex() {
+        SubmissionInboxRepository.Filter filter = SubmissionInboxRepository.Filter.builder()
+                .audience(SubmissionInboxRepository.Audience.ADMIN)
+                .stage(SubmissionInboxRepository.Stage.ADMIN_PENDING)
+                .build();
+        assertUsesIndex("IX_Submission_Admin_SubmittedAt", () -> submissionRepository.findInbox(filter, 21), 21);
+    }
+
+    @Test
+    void certificateJobPollUsesStatusNextAttemptIndex() {
+        assertUsesIndex("IX_CertificateJob_Status_NextAttemptAt",
+                () -> certificateJobRepository.findDueJobIds(NOW, Limit.of(10)), NOW, 10);
+    }
+
+    // params are the JDBC parameters of the captured statement, in the order they appear in the SQL
+    private void assertUsesIndex(String index, Runnable query, Object... params) {
+        SqlCapture.STATEMENTS.clear();
+        SqlCapture.capturing = Thread.currentThread();
+        try {
+            query.run();
+        } finally {
+            SqlCapture.capturing = null;
+        }
+        assertFalse(SqlCapture.STATEMENTS.isEmpty(), "query sent no SQL");
+        String sql = SqlCapture.STATEMENTS.get(SqlCapture.STATEMENTS.size() - 1);
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, params);
+        boolean usable = plan.stream().anyMatch(row ->
+                String.valueOf(row.get("possible_keys")).contains(index) || index.equals(row.get("key")));
+        assertTrue(usable, index + " is not usable for:\n" + sql + "\nplan: " + plan);
+    }
+}
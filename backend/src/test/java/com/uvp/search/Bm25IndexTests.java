@@ -0,0 +1,62 @@
+package com.uvp.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Bm25IndexTests {
+
+    private static Map<String, Float> terms(String text) {
+        Map<String, Float> terms = new HashMap<>();
+        for (String token : Tokenizer.tokenize(text)) terms.merge(token, 1f, Float::sum);
+        return terms;
+    }
+
+    private static List<Integer> ids(Bm25Index.Result<String> result) {
+        return result.hits().stream().map(Bm25Index.Hit::id).toList();
+    }
+
+    @Test
+    void tokenizerFoldsCaseAndAccentsAndDropsStopwords() {
+        assertEquals(List.of("cafe", "clean", "up", "2025"), Tokenizer.tokenize("The Café clean-up, 2025!"));
+    }
+
+    @Test
+    void everyQueryTermMustMatchAndRarerTermsRankHigher() {
+        Bm25Index<String> index = new Bm25Index<>();
+        index.put(1, "OPEN", terms("beach cleanup volunteers"));
+        index.put(2, "OPEN", terms("park cleanup volunteers"));
+        index.put(3, "OPEN", terms("beach beach cleanup"));
+
+        assertEquals(List.of(3, 1), ids(index.search(Tokenizer.tokenize("beach cleanup"), s -> true, 0, 10)));
+        assertEquals(List.of(2), ids(index.search(Tokenizer.tokenize("park"), s -> true, 0, 10)));
+    }
+
+    @Test
+    void prefixMatchesRankBelowExactOnes() {
+        Bm25Index<String> index = new Bm25Index<>();
+        index.put(1, "OPEN", terms("teaching children"));
+        index.put(2, "OPEN", terms("teach english"));
+
+        assertEquals(List.of(2, 1), ids(index.search(Tokenizer.tokenize("teach"), s -> true, 0, 10)));
+    }
+
+    @Test
+    void filterPagingAndRemoval() {
+        Bm25Index<String> index = new Bm25Index<>();
+        for (int id = 1; id <= 5; id++) index.put(id, id % 2 == 0 ? "CLOSED" : "OPEN", terms("food drive"));
+
+        Bm25Index.Result<String> open = index.search(Tokenizer.tokenize("food"), "OPEN"::equals, 1, 1);
+        assertEquals(3, open.total());
+        assertEquals(1, open.hits().size());
+
+        index.remove(3);
+        assertEquals(List.of(5, 1), ids(index.search(List.of(), "OPEN"::equals, 0, 10)));
+        assertTrue(index.search(Tokenizer.tokenize("drive"), s -> true, 0, 10).hits().stream().noneMatch(h -> h.id() == 3));
+    }
+}
@@ -0,0 +1,151 @@
+package com.uvp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uvp.TestData;
+import com.uvp.entity.Application;
+import com.uvp.entity.OrganizationHome;
+import com.uvp.entity.Submission;
+import com.uvp.entity.Task;
+import com.uvp.entity.User;
+import com.uvp.repository.ApplicationRepository;
+import com.uvp.repository.SubmissionRepository;
+import com.uvp.utility.QueryCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statement budgets for service methods, counted by QueryCountInspector. Each call runs against a cold
+// persistence context and second-level cache, includes serializing its result the way the controller does
+// (lazy loads during serialization count), and flushes, so pending writes count too. Rolled back afterwards.
+@SpringBootTest
+@Import(TestData.class)
+@Transactional
+class QueryBudgetTests {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CertificateService certificateService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    private OrganizationHome org;
+    private User volunteer;
+    private Task task;
+    private Submission submission;
+
+    @BeforeEach
+    void seed() {
+        org = testData.organization("Budget org");
+        volunteer = testData.volunteer("Budget volunteer");
+        for (int i = 0; i < 3; i++) {
+            task = testData.task(Task.builder()
+                    .organizationHome(org).title("Budget task " + i).capacity(5).images("uploads/blobs/x.png"));
+        }
+        Application application = applicationRepository.save(Application.builder()
+                .task(task).user(volunteer).status(Application.ApplicationStatus.APPROVED).build());
+        submission = submissionRepository.save(Submission.builder()
+                .application(application).proofFile("uploads/blobs/proof.png").verifiedByAdmin(true).build());
+    }
+
+    @Test
+    void applyWithinBudget() {
+        Task other = testData.task(org, "Other task", 5);
+        // seat update, application insert, task (for its org id, cold cache here), summary update
+        assertMaxStatements(4, () -> {
+            applicationService.applyForTask(volunteer.getUserId(), other.getTaskId());
+            return null;
+        });
+    }
+
+    @Test
+    void orgApprovalRequestsCertificateWithinBudget() {
+        // submission + application + task, summary update, certificate and job inserts, submission update
+        assertMaxStatements(5, () -> submissionService.updateOrgStatus(submission.getSubmissionId()));
+    }
+
+    @Test
+    void adminApprovalWithinBudget() {
+        submission.setVerifiedByAdmin(false); // org has not approved yet, so no certificate is requested
+        submissionRepository.save(submission);
+        // submission + application + task, submission update
+        assertMaxStatements(2, () -> submissionService.updateAdminStatus(submission.getSubmissionId()));
+    }
+
+    @Test
+    void certificateRequestDoesNotLoadUserOrTask() {
+        // the certificate insert (INSERT IGNORE) and its job insert
+        assertMaxStatements(2, () -> certificateService.requestCertificate(volunteer.getUserId(), task.getTaskId()));
+    }
+
+    @Test
+    void tasksOfOrganizationLoadTheirOrganizationInOneQuery() {
+        assertMaxStatements(1, () -> taskService.getTasksByOrg(org.getOrgId()));
+    }
+
+    @Test
+    void bulkReviewCostsTheSameForAnyBatchSize() {
+        Task other = testData.task(org, "Busy task", 50);
+        List<Integer> ids = new ArrayList<>();
+        for (User applicant : testData.volunteers("Applicant", 20)) {
+            ids.add(applicationRepository.save(Application.builder()
+                    .task(other).user(applicant).status(Application.ApplicationStatus.PENDING).build()).getApplicationId());
+        }
+        // locking read, task fill, summary update, one UPDATE for all twenty
+        assertMaxStatements(4, () -> applicationService.reviewApplications(org.getOrgId(),
+                new ApplicationService.ReviewRequest(ids, "APPROVED")));
+        assertEquals(20, applicationRepository.findById(ids.get(19)).map(a -> a.getTask().getFilledSeats()).orElseThrow());
+    }
+
+    @Test
+    void taskDetailWithinBudget() {
+        assertMaxStatements(2, () -> taskService.getTask(task.getTaskId()));
+    }
+
+    private void assertMaxStatements(int max, Callable<?> call) {
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        QueryCounter.reset();
+        try {
+            objectMapper.writeValueAsString(call.call());
+            entityManager.flush();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        int statements = QueryCounter.count();
+        assertTrue(statements <= max, "sent " + statements + " SQL statements, budget is " + max);
+    }
+}
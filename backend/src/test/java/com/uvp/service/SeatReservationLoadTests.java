@@ -0,0 +1,135 @@
+package com.uvp.service;
+
+import com.uvp.TestData;
+import com.uvp.entity.Task;
+import com.uvp.entity.User;
+import com.uvp.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sign-up burst against the real database: hundreds of volunteers apply to one task at the same instant.
+// Seats must never be overbooked and every request must get an answer (applied, full or already applied).
+@SpringBootTest
+@Import(TestData.class)
+class SeatReservationLoadTests {
+
+    private static final int APPLIERS = 200;
+    private static final int CAPACITY = 25;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private Task task;
+    private List<User> volunteers;
+
+    @BeforeEach
+    void seed() {
+        task = testData.task(testData.organization("Load org"), "Popular drive", CAPACITY);
+        volunteers = testData.volunteers("Load volunteer", APPLIERS);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void concurrentAppliersNeverOverbook() throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        List<Throwable> unexpected = burst(APPLIERS, i -> {
+            try {
+                applicationService.applyForTask(volunteers.get(i).getUserId(), task.getTaskId());
+                applied.incrementAndGet();
+            } catch (ResponseStatusException e) {
+                if (!"Task is full".equals(e.getReason())) throw e;
+                full.incrementAndGet();
+            }
+        });
+
+        assertTrue(unexpected.isEmpty(), "unexpected failures: " + unexpected);
+        assertEquals(CAPACITY, applied.get());
+        assertEquals(APPLIERS - CAPACITY, full.get());
+        assertEquals(CAPACITY, applications());
+        assertEquals(CAPACITY, taskRepository.findReservedSeats(task.getTaskId()));
+    }
+
+    @Test
+    void concurrentAppliesOfOneVolunteerKeepOneApplication() throws Exception {
+        Integer userId = volunteers.get(0).getUserId();
+        AtomicInteger applied = new AtomicInteger();
+        List<Throwable> unexpected = burst(20, i -> {
+            try {
+                applicationService.applyForTask(userId, task.getTaskId());
+                applied.incrementAndGet();
+            } catch (ResponseStatusException e) {
+                if (e.getStatusCode() != HttpStatus.CONFLICT) throw e; // Already Applied
+            }
+        });
+
+        assertTrue(unexpected.isEmpty(), "unexpected failures: " + unexpected);
+        assertEquals(1, applied.get());
+        assertEquals(1, applications());
+        assertEquals(1, taskRepository.findReservedSeats(task.getTaskId()));
+    }
+
+    private interface Apply {
+        void run(int i) throws Exception;
+    }
+
+    // Releases all threads at once; throughput is measured by SeatReservationBenchmark in the jmh module
+    private List<Throwable> burst(int requests, Apply apply) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> unexpected = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            int n = i;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    apply.run(n);
+                } catch (Throwable e) {
+                    synchronized (unexpected) {
+                        unexpected.add(e);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "burst did not finish");
+        return unexpected;
+    }
+
+    private int applications() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Application WHERE TaskId = ?", Integer.class,
+                task.getTaskId());
+    }
+}
@@ -0,0 +1,150 @@
+package com.uvp.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectStorageTests {
+
+	// In-process stand-in for a shared bucket, counting reads that would go over the network
+	static class InMemoryObjectStorage implements ObjectStorage {
+		final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+		final AtomicInteger gets = new AtomicInteger();
+
+		@Override
+		public void put(String key, InputStream content, long length, String contentType) throws IOException {
+			objects.put(key, content.readAllBytes());
+		}
+
+		@Override
+		public InputStream get(String key) throws IOException {
+			gets.incrementAndGet();
+			byte[] bytes = objects.get(key);
+			if (bytes == null) throw new NoSuchFileException(key);
+			return new ByteArrayInputStream(bytes);
+		}
+
+		@Override
+		public boolean exists(String key) {
+			return objects.containsKey(key);
+		}
+
+		@Override
+		public void delete(String key) {
+			objects.remove(key);
+		}
+
+		@Override
+		public Optional<String> presignedUrl(String key, Duration ttl) {
+			return Optional.of("https://bucket.example/" + key + "?expires=" + ttl.toSeconds());
+		}
+
+		@Override
+		public Optional<OpenFile> openLocal(String key) {
+			return Optional.empty();
+		}
+
+		@Override
+		public boolean isShared() {
+			return true;
+		}
+	}
+
+	private static InputStream bytes(String s) {
+		return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void localStorageStoresUnderRootAndRejectsEscapingKeys(@TempDir Path root) throws IOException {
+		LocalObjectStorage storage = new LocalObjectStorage(root);
+
+		storage.put("blobs/ab/cd/abcd.png", bytes("png"), 3, "image/png");
+		assertTrue(storage.exists("blobs/ab/cd/abcd.png"));
+		assertEquals("png", new String(storage.get("blobs/ab/cd/abcd.png").readAllBytes(), StandardCharsets.UTF_8));
+		try (OpenFile local = storage.openLocal("blobs/ab/cd/abcd.png").orElseThrow()) {
+			assertEquals(root.resolve("blobs/ab/cd/abcd.png").toAbsolutePath(), local.path());
+		}
+
+		Path staged = Files.writeString(root.resolve("staged.tmp"), "pdf");
+		storage.putFile("certificates/c.pdf", staged, "application/pdf");
+		assertFalse(Files.exists(staged));
+		assertTrue(storage.exists("certificates/c.pdf"));
+
+		storage.delete("blobs/ab/cd/abcd.png");
+		assertFalse(storage.exists("blobs/ab/cd/abcd.png"));
+		assertThrows(NoSuchFileException.class, () -> storage.get("blobs/ab/cd/abcd.png"));
+		assertThrows(NoSuchFileException.class, () -> storage.get("../outside.txt"));
+	}
+
+	@Test
+	void cachingStorageDownloadsEachObjectOnce(@TempDir Path cacheDir) throws IOException {
+		InMemoryObjectStorage remote = new InMemoryObjectStorage();
+		CachingObjectStorage storage = new CachingObjectStorage(remote, new DiskCache(cacheDir, 1024));
+
+		storage.put("blobs/aa/bb/aabb.png", bytes("image"), 5, "image/png");
+		try (OpenFile first = storage.openLocal("blobs/aa/bb/aabb.png").orElseThrow();
+			 OpenFile second = storage.openLocal("blobs/aa/bb/aabb.png").orElseThrow()) {
+			assertEquals(first.name(), second.name());
+			assertNull(first.path()); // cache entries are never handed out by name
+			assertEquals("image", read(first));
+		}
+		assertEquals(1, remote.gets.get());
+		Path cached = cacheDir.resolve("blobs%2Faa%2Fbb%2Faabb.png");
+		assertTrue(Files.exists(cached));
+
+		assertTrue(storage.presignedUrl("blobs/aa/bb/aabb.png", Duration.ofMinutes(15)).isPresent());
+
+		storage.delete("blobs/aa/bb/aabb.png");
+		assertFalse(Files.exists(cached));
+		assertTrue(storage.openLocal("blobs/aa/bb/aabb.png").isEmpty());
+	}
+
+	@Test
+	void diskCacheEvictsLeastRecentlyUsedBeyondBudget(@TempDir Path dir) throws Exception {
+		DiskCache cache = new DiskCache(dir, 10);
+
+		cache.open("a", os -> os.write(new byte[4])).close();
+		cache.open("b", os -> os.write(new byte[4])).close();
+		cache.open("a", os -> fail("a is cached")).close();
+		cache.open("c", os -> os.write(new byte[4])).close();
+
+		assertTrue(Files.exists(dir.resolve("a")));
+		assertFalse(Files.exists(dir.resolve("b")));
+	}
+
+	@Test
+	void diskCacheEvictionDoesNotCutOffAnOpenReader(@TempDir Path dir) throws Exception {
+		DiskCache cache = new DiskCache(dir, 10);
+
+		try (OpenFile reading = cache.open("a", os -> os.write("aaaaaa".getBytes(StandardCharsets.UTF_8)))) {
+			cache.open("b", os -> os.write("bbbbbb".getBytes(StandardCharsets.UTF_8))).close();
+			assertFalse(Files.exists(dir.resolve("a")));
+			assertEquals("aaaaaa", read(reading));
+		}
+		// evicted entries are written again on the next open
+		try (OpenFile again = cache.open("a", os -> os.write("a2".getBytes(StandardCharsets.UTF_8)))) {
+			assertEquals("a2", read(again));
+		}
+	}
+
+	private static String read(OpenFile file) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate((int) file.size());
+		file.channel().read(buffer, 0); // a few bytes, one read
+		return new String(buffer.array(), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,127 @@
+package com.uvp.utility;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Conditional GET and byte range handling, on the plain servlet stream (no sendfile support in the mock)
+class FileSenderTests {
+
+	@TempDir
+	Path dir;
+
+	private Path file;
+
+	@BeforeEach
+	void writeFile() throws IOException {
+		file = Files.writeString(dir.resolve("proof.txt"), "0123456789", StandardCharsets.US_ASCII);
+	}
+
+	private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FileSender.send(request, response, file, FileSender.CACHE_IMMUTABLE, null);
+		return response;
+	}
+
+	private String etag() throws IOException {
+		return send(new MockHttpServletRequest("GET", "/")).getHeader(HttpHeaders.ETAG);
+	}
+
+	@Test
+	void fullGetCarriesValidatorsAndBody() throws IOException {
+		MockHttpServletResponse response = send(new MockHttpServletRequest("GET", "/"));
+
+		assertEquals(200, response.getStatus());
+		assertEquals("0123456789", response.getContentAsString());
+		assertEquals(10, response.getContentLengthLong());
+		assertNotNull(response.getHeader(HttpHeaders.ETAG));
+		assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+		assertEquals(FileSender.CACHE_IMMUTABLE, response.getHeader(HttpHeaders.CACHE_CONTROL));
+	}
+
+	@Test
+	void ifNoneMatchAnswersNotModified() throws IOException {
+		String etag = etag();
+
+		for (String header : new String[]{etag, "W/" + etag, "\"other\", " + etag, "*"}) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, header);
+			MockHttpServletResponse response = send(request);
+			assertEquals(304, response.getStatus(), header);
+			assertEquals(0, response.getContentAsByteArray().length, header);
+		}
+
+		MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/");
+		stale.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+		assertEquals(200, send(stale).getStatus());
+	}
+
+	@Test
+	void singleRangesArePartialContent() throws IOException {
+		String[][] cases = {
+				{"bytes=2-5", "2345", "bytes 2-5/10"},
+				{"bytes=7-", "789", "bytes 7-9/10"},
+				{"bytes=-3", "789", "bytes 7-9/10"},
+				{"bytes=8-100", "89", "bytes 8-9/10"},
+		};
+		for (String[] c : cases) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+			request.addHeader(HttpHeaders.RANGE, c[0]);
+			MockHttpServletResponse response = send(request);
+			assertEquals(206, response.getStatus(), c[0]);
+			assertEquals(c[1], response.getContentAsString(), c[0]);
+			assertEquals(c[2], response.getHeader(HttpHeaders.CONTENT_RANGE), c[0]);
+			assertEquals(c[1].length(), response.getContentLengthLong(), c[0]);
+		}
+	}
+
+	@Test
+	void unsatisfiableRangeIs416() throws IOException {
+		for (String range : new String[]{"bytes=10-", "bytes=5-2", "bytes=-0", "bytes=a-b"}) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+			request.addHeader(HttpHeaders.RANGE, range);
+			MockHttpServletResponse response = send(request);
+			assertEquals(416, response.getStatus(), range);
+			assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE), range);
+		}
+	}
+
+	@Test
+	void multipleRangesAndStaleIfRangeGetTheWholeFile() throws IOException {
+		MockHttpServletRequest multiple = new MockHttpServletRequest("GET", "/");
+		multiple.addHeader(HttpHeaders.RANGE, "bytes=0-1,4-5");
+		MockHttpServletResponse response = send(multiple);
+		assertEquals(200, response.getStatus());
+		assertEquals("0123456789", response.getContentAsString());
+
+		MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/");
+		stale.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+		stale.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+		response = send(stale);
+		assertEquals(200, response.getStatus());
+		assertEquals("0123456789", response.getContentAsString());
+
+		MockHttpServletRequest current = new MockHttpServletRequest("GET", "/");
+		current.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+		current.addHeader(HttpHeaders.IF_RANGE, etag());
+		assertEquals(206, send(current).getStatus());
+	}
+
+	@Test
+	void headSendsHeadersOnly() throws IOException {
+		MockHttpServletResponse response = send(new MockHttpServletRequest("HEAD", "/"));
+		assertEquals(200, response.getStatus());
+		assertEquals(10, response.getContentLengthLong());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+}
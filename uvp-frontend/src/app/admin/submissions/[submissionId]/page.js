@@ -37,7 +37,7 @@ export default function AdminViewSubmissionPage() {
           taskTitle: data.taskTitle ?? data.taskName ?? "",
           submittedAt: data.submittedAt ?? data.submittedDate ?? data.createdAt,
           status: data.status,
-          proofFileUrl: data.proofFileUrl ?? data.fileUrl ?? "",
+          proofFileUrl: data.proofMediumUrl ?? data.proofFileUrl ?? data.fileUrl ?? "",
         });
       } else {
         setSubmission(null);
@@ -67,7 +67,7 @@ export default function AdminTasksPage() {
             startDate: t.startDate,
             endDate: t.endDate,
             description: t.description || "No description available",
-            imageUrl: "http://localhost:8080/"+t.images
+            imageUrl: "http://localhost:8080/"+(t.thumbnail || t.images)
           }))
         );
         setError(null);
@@ -100,7 +100,7 @@ export default function TaskDetailsPage() {
         className="relative h-80 rounded-2xl overflow-hidden shadow-xl"
       >
         <img
-          src={task.images}
+          src={task.mediumImage || task.images}
           alt={task.title}
           className="w-full h-full object-cover"
         />
@@ -162,7 +162,7 @@ export default function NGOTasksPage() {
                     <div className="relative w-full md:w-72 aspect-video md:aspect-auto md:h-48 rounded-[2rem] bg-indigo-50 overflow-hidden shrink-0">
                       {task.imageUrl ? (
                         <img
-                          src={task.imageUrl}
+                          src={task.thumbnailUrl || task.imageUrl}
                           alt={task.title}
                           className="w-full h-full object-cover group-hover:scale-110 transition-transform duration-700"
                         />
@@ -127,9 +127,9 @@ const Certificates = () => {
                   className="group relative bg-white rounded-[2.5rem] p-6 shadow-xl shadow-slate-200/50 hover:shadow-2xl hover:shadow-fuchsia-500/20 border border-white transition-all duration-300 flex flex-col"
                 >
                   <div className="relative w-full aspect-square rounded-[2rem] bg-slate-50 border border-slate-100 overflow-hidden mb-6 flex items-center justify-center group-hover:border-fuchsia-100 transition-colors">
-                    {cert.qrCode ? (
+                    {cert.qrCodeUrl ? (
                       <img
-                        src={`data:image/png;base64,${cert.qrCode}`}
+                        src={cert.qrCodeUrl}
                         alt="Certificate QR"
                         className="w-48 h-48 object-contain mix-blend-multiply opacity-80 group-hover:opacity-100 group-hover:scale-105 transition-all duration-500"
                       />
@@ -154,7 +154,7 @@ export default function TasksPage() {
 
                       {task.imageUrl ? (
                         <img
-                          src={task.imageUrl}
+                          src={task.thumbnailUrl || task.imageUrl}
                           alt={task.title}
                           className="w-full h-full object-cover group-hover:scale-110 transition-transform duration-700 ease-out"
                         />
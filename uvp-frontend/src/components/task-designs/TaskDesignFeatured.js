@@ -59,7 +59,7 @@ export default function TaskDesignFeatured({ tasks, loading, activeTab, onTabCha
                                 <div className="absolute inset-0 bg-gradient-to-r from-slate-900 via-slate-900/80 to-transparent z-10"></div>
                                 {featuredTask.imageUrl && (
                                     <img
-                                        src={featuredTask.imageUrl}
+                                        src={featuredTask.mediumUrl || featuredTask.imageUrl}
                                         alt={featuredTask.title}
                                         className="absolute inset-0 w-full h-full object-cover opacity-60 group-hover:scale-105 transition-transform duration-700"
                                     />
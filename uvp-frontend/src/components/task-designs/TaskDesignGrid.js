@@ -60,7 +60,7 @@ export default function TaskDesignGrid({ tasks, loading, activeTab, onTabChange,
                                 <div className="h-52 relative overflow-hidden bg-slate-100">
                                     {task.imageUrl ? (
                                         <img
-                                            src={task.imageUrl}
+                                            src={task.thumbnailUrl || task.imageUrl}
                                             alt={task.title}
                                             className="w-full h-full object-cover group-hover:scale-105 transition-transform duration-500"
                                         />
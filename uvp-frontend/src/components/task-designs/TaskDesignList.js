@@ -65,7 +65,7 @@ export default function TaskDesignList({ tasks, loading, activeTab, onTabChange,
                                 <div className="w-full md:w-64 h-48 md:h-auto shrink-0 relative overflow-hidden rounded-[2rem] bg-slate-100 shadow-inner">
                                     {task.imageUrl ? (
                                         <img
-                                            src={task.imageUrl}
+                                            src={task.thumbnailUrl || task.imageUrl}
                                             alt={task.title}
                                             className="w-full h-full object-cover group-hover:scale-110 transition-transform duration-700"
                                         />